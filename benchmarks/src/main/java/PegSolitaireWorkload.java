@@ -0,0 +1,149 @@
+/**
+ * The "PegSolitaireWorkload" class
+ * Runs the game's board, table and solver code for the benchmarks
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.util.Random;
+
+import benchmarks.Workload;
+
+public class PegSolitaireWorkload implements Workload
+{
+	private BitBoard bitBoard;
+	private int[][][] boards = new int[POSITIONS][][];
+	// The same positions as games, so counting and checking moves runs the game's own code
+	private GameState[] games = new GameState[POSITIONS];
+	private long[] pegs = new long[POSITIONS];
+	private long[] keys = new long[POSITIONS];
+	private TranspositionTable table = new TranspositionTable(32);
+	private Solver solver = new Solver();
+
+	/**
+	 * Makes the positions of a board set up: the starting position followed by positions reached by random moves
+	 * @param boardType the type of board (0: Cross, 1: Octagon, 2: Triangle)
+	 * @param boardSetUp the set up of the pegs
+	 * @param parallel true to let the solver use every processor, false to use one thread
+	 * @param seed the seed of the random moves
+	 */
+	public void setUp(int boardType, int boardSetUp, boolean parallel, long seed)
+	{
+		int[][] start = GameState.createBoard(boardType, boardSetUp);
+		bitBoard = new BitBoard(start, boardType);
+		solver.setParallel(parallel);
+		// Measure searching, not reading earlier results back
+		solver.setCaching(false);
+
+		Random random = new Random(seed);
+		for (int i = 0; i < POSITIONS; i++)
+		{
+			// Play a random number of random moves from the start
+			long position = bitBoard.toBits(start);
+			if (i > 0)
+			{
+				int moveCount = random.nextInt(Long.bitCount(position));
+				int[] choices = new int[BitBoard.SIZE * BitBoard.SIZE * bitBoard.directions()];
+				for (int move = 0; move < moveCount; move++)
+				{
+					// List every move (from * 8 + direction) and make one of them
+					int count = 0;
+					for (int d = 0; d < bitBoard.directions(); d++)
+					{
+						long from = bitBoard.movers(position, d);
+						while (from != 0)
+						{
+							choices[count++] = Long.numberOfTrailingZeros(from) << 3 | d;
+							from &= from - 1;
+						}
+					}
+					if (count == 0)
+						break;
+					int choice = choices[random.nextInt(count)];
+					position = bitBoard.jump(position, choice >> 3, choice & 7);
+				}
+			}
+
+			pegs[i] = position;
+			keys[i] = bitBoard.key(position);
+			boards[i] = new int[BitBoard.SIZE][BitBoard.SIZE];
+			for (int row = 0; row < BitBoard.SIZE; row++)
+			{
+				for (int col = 0; col < BitBoard.SIZE; col++)
+				{
+					if (!bitBoard.isHole(row, col))
+						boards[i][row][col] = 2;
+					else if ((position >>> BitBoard.cell(row, col) & 1) != 0)
+						boards[i][row][col] = 1;
+				}
+			}
+			games[i] = new GameState(boards[i], boardType);
+		}
+	}
+
+	/**
+	 * Converts a position from the game's board array to its bits
+	 * @param position the number of the position
+	 * @return a long with one bit set for every peg
+	 */
+	public long toBits(int position)
+	{
+		return bitBoard.toBits(boards[position]);
+	}
+
+	/**
+	 * Counts the pegs of a position with the game's own GameState.pegsOnBoard
+	 * @param position the number of the position
+	 * @return the number of pegs
+	 */
+	public int pegsOnBoard(int position)
+	{
+		return games[position].pegsOnBoard();
+	}
+
+	/**
+	 * Checks if any peg of a position can jump with the game's own GameState.hasMovesLeft
+	 * @param position the number of the position
+	 * @return true if there is a move left, false otherwise
+	 */
+	public boolean hasMovesLeft(int position)
+	{
+		return games[position].hasMovesLeft();
+	}
+
+	/**
+	 * Stores a position in a transposition table of the size the solver uses
+	 * @param position the number of the position
+	 */
+	public void store(int position)
+	{
+		int pegCount = Long.bitCount(pegs[position]);
+		table.store(keys[position], pegs[position], pegCount, pegCount, -1, 0, false, false);
+	}
+
+	/**
+	 * Makes the solver forget every position it has solved
+	 */
+	public void clear()
+	{
+		solver.clear();
+	}
+
+	/**
+	 * Solves the starting position
+	 * @return the minimum number of pegs
+	 */
+	public int solve()
+	{
+		return solver.solve(bitBoard, pegs[0], 60, solver.newSearch()).getMinPegs();
+	}
+
+	/**
+	 * Gets the number of positions searched by the last solve
+	 * @return the number of positions
+	 */
+	public long nodes()
+	{
+		return solver.getNodes();
+	}
+}
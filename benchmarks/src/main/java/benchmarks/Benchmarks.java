@@ -0,0 +1,41 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The "Benchmarks" class
+ * Runs the benchmarks with the usual JMH command line, always adding the GC profiler so the allocation rate is reported
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+public class Benchmarks
+{
+	/**
+	 * Makes the workload for a board set up
+	 * @param setup the board type and set up, separated by a dash
+	 * @param parallel true to let the solver use every processor, false to use one thread
+	 * @return the workload
+	 * @throws Exception if the workload can't be made
+	 */
+	static Workload newWorkload(String setup, boolean parallel) throws Exception
+	{
+		String[] parts = setup.split("-");
+		Workload workload = (Workload) Class.forName("PegSolitaireWorkload").getDeclaredConstructor().newInstance();
+		workload.setUp(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), parallel, 42);
+		return workload;
+	}
+
+	/**
+	 * Runs the benchmarks
+	 * @param args JMH command line options
+	 * @throws Exception if the options are wrong or a benchmark fails
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		CommandLineOptions options = new CommandLineOptions(args);
+		new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build()).run();
+	}
+}
@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The "BoardBenchmark" class
+ * Times the small operations the game and the solver repeat on every position, going through the positions of a set up
+ * in turn so none of them can be worked out ahead of time
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark
+{
+	// Board type and set up: Solitaire, Snowflake and the Triangle with a hole at (2, 1)
+	@Param({ "0-0", "1-0", "2-0" })
+	public String setup;
+
+	private Workload workload;
+	private int position;
+
+	/**
+	 * Sets up the board set up
+	 * @throws Exception if the workload can't be made
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		workload = Benchmarks.newWorkload(setup, false);
+	}
+
+	/**
+	 * Moves on to the next position
+	 * @return the number of the position
+	 */
+	private int nextPosition()
+	{
+		position = (position + 1) & (Workload.POSITIONS - 1);
+		return position;
+	}
+
+	/**
+	 * Converts a board array to bits (what boardToInt used to do)
+	 * @return the bits of the position
+	 */
+	@Benchmark
+	public long toBits()
+	{
+		return workload.toBits(nextPosition());
+	}
+
+	/**
+	 * Counts the pegs of a board array
+	 * @return the number of pegs
+	 */
+	@Benchmark
+	public int pegsOnBoard()
+	{
+		return workload.pegsOnBoard(nextPosition());
+	}
+
+	/**
+	 * Checks a board array for moves left
+	 * @return true if there is a move left, false otherwise
+	 */
+	@Benchmark
+	public boolean hasMovesLeft()
+	{
+		return workload.hasMovesLeft(nextPosition());
+	}
+
+	/**
+	 * Stores a position in the transposition table (what adding to the visited set used to do)
+	 */
+	@Benchmark
+	public void store()
+	{
+		workload.store(nextPosition());
+	}
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The "SolverBenchmark" class
+ * Solves the starting position of every board set up from an empty transposition table
+ * The score is solves per second, and the "nodes" counter is the positions searched per second
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolverBenchmark
+{
+	// Board type and set up: 8 Cross, 3 Octagon and 4 Triangle set ups
+	@Param({ "0-0", "0-1", "0-2", "0-3", "0-4", "0-5", "0-6", "0-7", "1-0", "1-1", "1-2", "2-0", "2-1", "2-2", "2-3" })
+	public String setup;
+
+	@Param({ "false" })
+	public boolean parallel;
+
+	private Workload workload;
+
+	// Inner class for the positions searched, reported per second next to the score
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Nodes
+	{
+		public long nodes;
+	}
+
+	/**
+	 * Sets up the board set up
+	 * @throws Exception if the workload can't be made
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		workload = Benchmarks.newWorkload(setup, parallel);
+	}
+
+	/**
+	 * Empties the transposition table, so each solve searches from nothing (not timed)
+	 */
+	@Setup(Level.Invocation)
+	public void clear()
+	{
+		workload.clear();
+	}
+
+	/**
+	 * Solves the starting position
+	 * @param nodes the counter of positions searched
+	 * @return the minimum number of pegs
+	 */
+	@Benchmark
+	public int solve(Nodes nodes)
+	{
+		int minPegs = workload.solve();
+		nodes.nodes += workload.nodes();
+		return minPegs;
+	}
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+/**
+ * The "Workload" interface
+ * The game's classes are in the default package, which can't be used from a named package (and JMH needs one), so the
+ * benchmarks call the game through this interface, implemented by PegSolitaireWorkload in the default package
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+public interface Workload
+{
+	/**
+	 * The number of positions made by setUp
+	 */
+	int POSITIONS = 64;
+
+	/**
+	 * Makes the positions of a board set up: the starting position followed by positions reached by random moves
+	 * @param boardType the type of board (0: Cross, 1: Octagon, 2: Triangle)
+	 * @param boardSetUp the set up of the pegs
+	 * @param parallel true to let the solver use every processor, false to use one thread
+	 * @param seed the seed of the random moves
+	 */
+	void setUp(int boardType, int boardSetUp, boolean parallel, long seed);
+
+	/**
+	 * Converts a position from the game's board array to its bits
+	 * @param position the number of the position
+	 * @return a long with one bit set for every peg
+	 */
+	long toBits(int position);
+
+	/**
+	 * Counts the pegs of a position the way the game does, from its board array
+	 * @param position the number of the position
+	 * @return the number of pegs
+	 */
+	int pegsOnBoard(int position);
+
+	/**
+	 * Checks if any peg of a position can jump, the way the game does, from its board array
+	 * @param position the number of the position
+	 * @return true if there is a move left, false otherwise
+	 */
+	boolean hasMovesLeft(int position);
+
+	/**
+	 * Stores a position in a transposition table of the size the solver uses
+	 * @param position the number of the position
+	 */
+	void store(int position);
+
+	/**
+	 * Makes the solver forget every position it has solved
+	 */
+	void clear();
+
+	/**
+	 * Solves the starting position
+	 * @return the minimum number of pegs
+	 */
+	int solve();
+
+	/**
+	 * Gets the number of positions searched by the last solve
+	 * @return the number of positions
+	 */
+	long nodes();
+}
@@ -0,0 +1,342 @@
+/**
+ * The "BatchSolver" class
+ * Solves positions read one per line from a file or standard input, without opening a window
+ * Each line is a board type (0: Cross, 1: Octagon, 2: Triangle) and the position as a hexadecimal number with bit i
+ * set when hole i has a peg, the holes numbered row by row from 0 (e.g. "0 1fffeffff" is the usual Cross set up), with
+ * as many digits as the board's holes need
+ * Each result line repeats the position, then gives the minimum number of pegs (followed by ? if the search stopped
+ * before it knew the fewest pegs found was the minimum, -1: nothing found), the time taken in milliseconds and the
+ * moves of the solution as start hole-end hole, in the same order as the positions
+ * Positions are searched every time unless -cache is given, which answers positions solved before from the Cache
+ * folder and adds the new ones to it (so the times measured are of the search, and a run doesn't fill the cache)
+ * Usage: java BatchSolver [-threads count] [-time seconds] [-memory megabytes] [-cache] [file]
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.io.*;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.concurrent.*;
+
+public class BatchSolver
+{
+	// Positions read ahead of the oldest unfinished one, per thread
+	private static final int READ_AHEAD = 4;
+
+	private int threads, time, megabytes;
+	private boolean caching;
+	private BitBoard[] bitBoards;
+	private ExecutorService pool;
+	// One solver per thread, each searching on its own thread only
+	private ThreadLocal<Solver> solvers;
+	private Latencies latencies;
+	// The number of positions skipped by each pruning rule, over every search
+	private long[] pruned = new long[3];
+
+	/**
+	 * Constructs a new BatchSolver
+	 * @param threads the number of positions to solve at once
+	 * @param time the maximum time to search each position (in seconds)
+	 * @param megabytes the memory budget of each thread's transposition table (in megabytes)
+	 * @param caching true to answer positions solved before from the cache and add to it, false to search every time
+	 */
+	public BatchSolver(int threads, int time, int megabytes, boolean caching)
+	{
+		this.threads = threads;
+		this.time = time;
+		this.megabytes = megabytes;
+		this.caching = caching;
+		bitBoards = new BitBoard[BoardDefinition.count()];
+		for (int boardType = 0; boardType < bitBoards.length; boardType++)
+			bitBoards[boardType] = new BitBoard(GameState.createBoard(boardType, 0), boardType);
+		pool = Executors.newFixedThreadPool(threads);
+		solvers = new ThreadLocal<Solver>()
+		{
+			protected Solver initialValue()
+			{
+				Solver solver = new Solver(BatchSolver.this.megabytes);
+				solver.setParallel(false);
+				solver.setCaching(BatchSolver.this.caching);
+				return solver;
+			}
+		};
+		latencies = new Latencies();
+	}
+
+	/**
+	 * Solves every position of the input, writing each result as soon as the results before it are written
+	 * Only a few positions per thread are held in memory at a time, so the input can be any length
+	 * @param in the positions, one per line
+	 * @param out where to write the results
+	 * @return the number of positions solved
+	 * @throws IOException if the input can't be read
+	 */
+	public long run(BufferedReader in, PrintWriter out) throws IOException
+	{
+		ArrayDeque<Future<String>> pending = new ArrayDeque<Future<String>>();
+		long count = 0;
+		String line;
+		while ((line = in.readLine()) != null)
+		{
+			line = line.trim();
+			// Skip blank lines and comments
+			if (line.length() == 0 || line.startsWith("#"))
+				continue;
+			final String position = line;
+			pending.add(pool.submit(new Callable<String>()
+			{
+				public String call()
+				{
+					return solve(position);
+				}
+			}));
+			count++;
+			if (pending.size() >= threads * READ_AHEAD)
+				out.println(result(pending.poll()));
+		}
+		while (!pending.isEmpty())
+			out.println(result(pending.poll()));
+		out.flush();
+		pool.shutdown();
+		return count;
+	}
+
+	/**
+	 * Waits for a position to be solved
+	 * @param future the result of the position
+	 * @return the result line
+	 */
+	private static String result(Future<String> future)
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+			return "error";
+		}
+	}
+
+	/**
+	 * Solves one position
+	 * @param line the board type and the position by hole number in hexadecimal
+	 * @return the result line
+	 */
+	private String solve(String line)
+	{
+		String[] fields = line.split("\\s+");
+		BitBoard bitBoard;
+		BigInteger holeBits;
+		try
+		{
+			bitBoard = bitBoards[Integer.parseInt(fields[0])];
+			holeBits = new BigInteger(fields[1], 16);
+		}
+		catch (Exception e)
+		{
+			return line + " error";
+		}
+		if (fields.length != 2 || holeBits.signum() < 0 || holeBits.bitLength() > bitBoard.holeCount())
+			return line + " error";
+		long[] pegs = new long[BitBoard.WORDS];
+		for (int hole = 0; hole < bitBoard.holeCount(); hole++)
+		{
+			if (holeBits.testBit(hole))
+				BitBoard.set(pegs, bitBoard.holeCell(hole));
+		}
+
+		Solver solver = solvers.get();
+		long start = System.nanoTime();
+		Solution solution = solver.solve(bitBoard, pegs, time, solver.newSearch(), null);
+		long nanos = System.nanoTime() - start;
+		latencies.add(nanos);
+		synchronized (pruned)
+		{
+			for (int rule = 0; rule < pruned.length; rule++)
+				pruned[rule] += solver.getPruned(rule);
+		}
+
+		StringBuilder result = new StringBuilder();
+		result.append(fields[0]).append(' ').append(holeBits.toString(16));
+		result.append(' ').append(solution.getMinPegs());
+		if (solution.isFound() && !solution.isKnown())
+			result.append('?');
+		result.append(' ').append(nanos / 1000000);
+		for (int i = 0; i < solution.getMoveCount(); i++)
+		{
+			int[] move = solution.getMove(i);
+			result.append(' ').append(bitBoard.holeNumber(BitBoard.cell(move[0], move[1])));
+			result.append('-').append(bitBoard.holeNumber(BitBoard.cell(move[2], move[3])));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Gets the number of positions a pruning rule skipped, over every position solved so far
+	 * @param rule the rule (Pruning.POSITION_CLASS or Pruning.PAGODA)
+	 * @return the number of positions
+	 */
+	public long getPruned(int rule)
+	{
+		synchronized (pruned)
+		{
+			return pruned[rule];
+		}
+	}
+
+	/**
+	 * Gets the times taken to solve the positions so far
+	 * @return the times
+	 */
+	public Latencies getLatencies()
+	{
+		return latencies;
+	}
+
+	// Inner class for the times taken to solve each position, counted in buckets so memory doesn't grow with the input
+	public static class Latencies
+	{
+		// Each power of two microseconds is split into this many buckets, so a time is off by less than 1/16
+		private static final int SUB_BITS = 4;
+		private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+		private long[] counts = new long[(64 - SUB_BITS + 1) * SUB_BUCKETS];
+		private long total, max;
+
+		/**
+		 * Counts the time taken to solve one position
+		 * @param nanos the time taken (in nanoseconds)
+		 */
+		public synchronized void add(long nanos)
+		{
+			long micros = nanos / 1000;
+			counts[bucket(micros)]++;
+			total++;
+			max = Math.max(max, micros);
+		}
+
+		/**
+		 * Finds the bucket of a time
+		 * @param micros the time (in microseconds)
+		 * @return the bucket number
+		 */
+		private static int bucket(long micros)
+		{
+			if (micros < SUB_BUCKETS)
+				return (int) micros;
+			int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BITS;
+			return (shift + 1) * SUB_BUCKETS + (int) (micros >>> shift & (SUB_BUCKETS - 1));
+		}
+
+		/**
+		 * Gets the largest time in a bucket
+		 * @param bucket the bucket number
+		 * @return the time (in microseconds)
+		 */
+		private static long bucketTime(int bucket)
+		{
+			if (bucket < SUB_BUCKETS)
+				return bucket;
+			int shift = bucket / SUB_BUCKETS - 1;
+			return ((long) (SUB_BUCKETS + bucket % SUB_BUCKETS + 1) << shift) - 1;
+		}
+
+		/**
+		 * Gets the number of positions counted
+		 * @return the number of positions
+		 */
+		public synchronized long getCount()
+		{
+			return total;
+		}
+
+		/**
+		 * Gets the time that a given fraction of the positions were solved within
+		 * @param fraction the fraction of the positions (0.5 for the median)
+		 * @return the time (in microseconds)
+		 */
+		public synchronized long percentile(double fraction)
+		{
+			long rank = (long) Math.ceil(fraction * total);
+			long seen = 0;
+			for (int bucket = 0; bucket < counts.length; bucket++)
+			{
+				seen += counts[bucket];
+				if (seen >= rank && seen > 0)
+					return Math.min(bucketTime(bucket), max);
+			}
+			return max;
+		}
+
+		/**
+		 * Gets the longest time taken
+		 * @return the time (in microseconds)
+		 */
+		public synchronized long getMax()
+		{
+			return max;
+		}
+	}
+
+	/**
+	 * Reads the options, solves the positions and prints the throughput and times to standard error
+	 * @param args the options and the input file (standard input if there is none)
+	 * @throws IOException if the input can't be read
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		int threads = Runtime.getRuntime().availableProcessors(), time = 60, megabytes = 16;
+		boolean caching = false;
+		String fileName = null;
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].equals("-threads") && i + 1 < args.length)
+				threads = Math.max(1, Integer.parseInt(args[++i]));
+			else if (args[i].equals("-time") && i + 1 < args.length)
+				time = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-memory") && i + 1 < args.length)
+				megabytes = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-cache"))
+				caching = true;
+			else
+				fileName = args[i];
+		}
+		if (megabytes <= 0)
+		{
+			System.err.println("The memory budget must be at least 1 megabyte");
+			return;
+		}
+
+		BufferedReader in;
+		if (fileName == null)
+			in = new BufferedReader(new InputStreamReader(System.in));
+		else
+			in = new BufferedReader(new FileReader(fileName));
+		PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+
+		BatchSolver batch = new BatchSolver(threads, time, megabytes, caching);
+		long start = System.nanoTime();
+		long count;
+		try
+		{
+			count = batch.run(in, out);
+		}
+		finally
+		{
+			in.close();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		Latencies latencies = batch.getLatencies();
+		System.err.printf("%d positions in %.2f s (%.1f positions/s) on %d threads%n", count, seconds, count / seconds,
+				threads);
+		System.err.printf("Time per position (ms): p50 %.2f  p90 %.2f  p99 %.2f  max %.2f%n",
+				latencies.percentile(0.5) / 1000.0, latencies.percentile(0.9) / 1000.0,
+				latencies.percentile(0.99) / 1000.0, latencies.getMax() / 1000.0);
+		System.err.printf("Positions pruned: %d by position class, %d by pagoda functions%n",
+				batch.getPruned(Pruning.POSITION_CLASS), batch.getPruned(Pruning.PAGODA));
+	}
+}
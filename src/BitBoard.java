@@ -0,0 +1,881 @@
+/**
+ * The "BitBoard" class
+ * Stores a Peg Solitaire position as the bits of a single long and generates jumps with shifts and masks
+ * Boards with holes past the first 64 locations (from row 7, column 1 on) are "wide": their positions are a fixed
+ * number of longs (WORDS) with bit i of the position at bit i % 64 of long i / 64, and only the methods taking long[]
+ * work for them
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+public class BitBoard
+{
+	// The largest board has 9 rows and 9 columns
+	public static final int SIZE = 9;
+	// The number of longs a position of any board takes
+	public static final int WORDS = (SIZE * SIZE + 63) / 64;
+
+	private int boardType;
+	private int centre, rows;
+	private boolean wide;
+	// The holes and the cells each direction can jump from as longs (the first long of each as well, for boards that
+	// fit in one)
+	private long holes;
+	private long[] holeWords;
+	private int[] holeNumbers, holeCells;
+	private int[] shifts;
+	private long[] jumpFrom;
+	private long[][] jumpFromWords;
+	private long[] zobrist;
+	private long[][] jumpKeys;
+	private int[][] symmetryCells, inverseCells, symmetryDirections, inverseDirections;
+
+	/**
+	 * Constructs a new BitBoard for the holes of a given board
+	 * @param board the board (0: empty hole, 1: peg, 2: not a hole)
+	 * @param boardType the type of board (0: Cross, 1: Octagon, 2: Triangle), which gives the jump directions
+	 */
+	public BitBoard(int[][] board, int boardType)
+	{
+		this.boardType = boardType;
+		// Row and column change of one step in each jump direction
+		int[][] steps = BoardDefinition.get(boardType).getSteps();
+		centre = BoardDefinition.get(boardType).getCentre();
+
+		holeWords = new long[WORDS];
+		for (int row = 0; row < SIZE; row++)
+		{
+			for (int col = 0; col < SIZE; col++)
+			{
+				if (board[row][col] != 2)
+				{
+					set(holeWords, cell(row, col));
+					rows = row + 1;
+				}
+			}
+		}
+		holes = holeWords[0];
+		for (int word = 1; word < WORDS; word++)
+			wide |= holeWords[word] != 0;
+
+		// Number the holes row by row, for storing positions with one bit per hole
+		holeNumbers = new int[SIZE * SIZE];
+		holeCells = new int[bitCount(holeWords)];
+		int holeCount = 0;
+		for (int cell = 0; cell < SIZE * SIZE; cell++)
+		{
+			holeNumbers[cell] = holeCount;
+			if (isSet(holeWords, cell))
+				holeCells[holeCount++] = cell;
+		}
+
+		// For each direction, find the cells that can jump two steps without leaving the board
+		// so the shifted masks never wrap from one row into the next
+		shifts = new int[steps.length];
+		jumpFrom = new long[steps.length];
+		jumpFromWords = new long[steps.length][WORDS];
+		for (int d = 0; d < steps.length; d++)
+		{
+			shifts[d] = steps[d][0] * SIZE + steps[d][1];
+			for (int row = 0; row < SIZE; row++)
+			{
+				for (int col = 0; col < SIZE; col++)
+				{
+					int endRow = row + 2 * steps[d][0];
+					int endCol = col + 2 * steps[d][1];
+					if (endRow >= 0 && endRow < SIZE && endCol >= 0 && endCol < SIZE
+							&& isHole(row, col) && isHole(row + steps[d][0], col + steps[d][1]) && isHole(endRow, endCol))
+						set(jumpFromWords[d], cell(row, col));
+				}
+			}
+			jumpFrom[d] = jumpFromWords[d][0];
+		}
+
+		// Give every hole a random key, a position's key is the exclusive or of the keys of its pegs
+		// (seeded by the holes so the same board always gets the same keys)
+		Random random = new Random(Arrays.hashCode(holeWords));
+		zobrist = new long[SIZE * SIZE];
+		for (int cell = 0; cell < SIZE * SIZE; cell++)
+		{
+			if (isSet(holeWords, cell))
+				zobrist[cell] = random.nextLong();
+		}
+		// A jump changes the key by the keys of its three holes
+		jumpKeys = new long[steps.length][SIZE * SIZE];
+		for (int d = 0; d < steps.length; d++)
+		{
+			for (int cell = 0; cell < SIZE * SIZE; cell++)
+			{
+				if (isSet(jumpFromWords[d], cell))
+					jumpKeys[d][cell] = zobrist[cell] ^ zobrist[cell + shifts[d]] ^ zobrist[cell + 2 * shifts[d]];
+			}
+		}
+
+		setUpSymmetries(steps);
+	}
+
+	/**
+	 * Finds the rotations and reflections that map the board's holes and jumps onto themselves
+	 * @param steps the row and column change of one step in each jump direction
+	 */
+	private void setUpSymmetries(int[][] steps)
+	{
+		// Try every way of turning the rows and columns into each other (a 2 by 2 matrix of -1, 0 and 1, starting with
+		// the identity) that turns the jump steps into jump steps, moved so the holes stay in the same rows and columns
+		ArrayList<int[]> found = new ArrayList<int[]>();
+		int[][] matrices = new int[82][];
+		matrices[0] = new int[] { 1, 0, 0, 1 };
+		for (int i = 0; i < 81; i++)
+			matrices[i + 1] = new int[] { i % 3 - 1, i / 3 % 3 - 1, i / 9 % 3 - 1, i / 27 - 1 };
+		for (int[] m : matrices)
+		{
+			if (m[0] * m[3] - m[1] * m[2] == 0 || !mapsSteps(m, steps))
+				continue;
+			int[] map = mapHoles(m);
+			boolean seen = map == null;
+			for (int i = 0; i < found.size() && !seen; i++)
+				seen = Arrays.equals(found.get(i), map);
+			if (!seen)
+				found.add(map);
+		}
+		int[][] candidates = found.toArray(new int[found.size()][]);
+
+		// Keep the candidates that map every jump on the board to another jump
+		int count = 0;
+		int[][] directions = new int[candidates.length][shifts.length];
+		for (int s = 0; s < candidates.length; s++)
+		{
+			if (mapsJumps(candidates[s], directions[s]))
+			{
+				candidates[count] = candidates[s];
+				directions[count] = directions[s];
+				count++;
+			}
+		}
+
+		symmetryCells = new int[count][];
+		inverseCells = new int[count][SIZE * SIZE];
+		symmetryDirections = new int[count][];
+		inverseDirections = new int[count][shifts.length];
+		for (int s = 0; s < count; s++)
+		{
+			symmetryCells[s] = candidates[s];
+			symmetryDirections[s] = directions[s];
+			for (int cell = 0; cell < SIZE * SIZE; cell++)
+				inverseCells[s][candidates[s][cell]] = cell;
+			for (int d = 0; d < shifts.length; d++)
+				inverseDirections[s][directions[s][d]] = d;
+		}
+	}
+
+	/**
+	 * Checks if a matrix turns every jump step into a jump step
+	 * @param m the matrix (row change = m[0] * row + m[1] * column, column change = m[2] * row + m[3] * column)
+	 * @param steps the row and column change of one step in each jump direction
+	 * @return true if every step is turned into a step, false otherwise
+	 */
+	private static boolean mapsSteps(int[] m, int[][] steps)
+	{
+		for (int[] step : steps)
+		{
+			boolean isStep = false;
+			for (int[] other : steps)
+				isStep |= m[0] * step[0] + m[1] * step[1] == other[0] && m[2] * step[0] + m[3] * step[1] == other[1];
+			if (!isStep)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Turns the holes by a matrix, moved back so the turned holes start in the same row and column as the holes
+	 * @param m the matrix (new row = m[0] * row + m[1] * column, new column = m[2] * row + m[3] * column)
+	 * @return the new bit number of each bit number (locations that aren't holes go to the ones left over), or null if
+	 *         the turned holes don't fit on the board
+	 */
+	private int[] mapHoles(int[] m)
+	{
+		int minRow = SIZE, minCol = SIZE, newMinRow = Integer.MAX_VALUE, newMinCol = Integer.MAX_VALUE;
+		for (int cell = 0; cell < SIZE * SIZE; cell++)
+		{
+			if (isSet(holeWords, cell))
+			{
+				minRow = Math.min(minRow, row(cell));
+				minCol = Math.min(minCol, col(cell));
+				newMinRow = Math.min(newMinRow, m[0] * row(cell) + m[1] * col(cell));
+				newMinCol = Math.min(newMinCol, m[2] * row(cell) + m[3] * col(cell));
+			}
+		}
+		int[] map = new int[SIZE * SIZE];
+		long[] used = new long[WORDS];
+		for (int cell = 0; cell < SIZE * SIZE; cell++)
+		{
+			if (isSet(holeWords, cell))
+			{
+				int newRow = m[0] * row(cell) + m[1] * col(cell) - newMinRow + minRow;
+				int newCol = m[2] * row(cell) + m[3] * col(cell) - newMinCol + minCol;
+				if (newRow < 0 || newRow >= SIZE || newCol < 0 || newCol >= SIZE)
+					return null;
+				map[cell] = cell(newRow, newCol);
+				set(used, map[cell]);
+			}
+		}
+		// Give the other locations the locations no hole went to, in order, so the mapping can be undone
+		int next = 0;
+		for (int cell = 0; cell < SIZE * SIZE; cell++)
+		{
+			if (!isSet(holeWords, cell))
+			{
+				while (isSet(used, next))
+					next++;
+				map[cell] = next++;
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Checks if a mapping of cells takes every hole to a hole and every jump to a jump
+	 * @param map the new bit number of each bit number
+	 * @param directions filled with the new direction of each direction
+	 * @return true if the mapping is a symmetry of the board, false otherwise
+	 */
+	private boolean mapsJumps(int[] map, int[] directions)
+	{
+		for (int cell = 0; cell < SIZE * SIZE; cell++)
+		{
+			if (isSet(holeWords, cell) && !isSet(holeWords, map[cell]))
+				return false;
+		}
+		for (int d = 0; d < shifts.length; d++)
+		{
+			directions[d] = -1;
+			for (int cell = 0; cell < SIZE * SIZE; cell++)
+			{
+				if (!isSet(jumpFromWords[d], cell))
+					continue;
+				int newShift = map[cell + shifts[d]] - map[cell];
+				if (directions[d] == -1)
+				{
+					// Find the direction this jump is mapped to
+					for (int newD = 0; newD < shifts.length; newD++)
+					{
+						if (shifts[newD] == newShift)
+							directions[d] = newD;
+					}
+				}
+				int newD = directions[d];
+				if (newD == -1 || newShift != shifts[newD] || map[cell + 2 * shifts[d]] != map[cell] + 2 * newShift
+						|| !isSet(jumpFromWords[newD], map[cell]))
+					return false;
+			}
+			// Directions with no jumps on this board (never happens on the shipped boards) map to themselves
+			if (directions[d] == -1)
+				directions[d] = d;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the bit number of a given board location
+	 * @param row the row of the location
+	 * @param col the column of the location
+	 * @return the bit number of the location
+	 */
+	public static int cell(int row, int col)
+	{
+		return row * SIZE + col;
+	}
+
+	/**
+	 * Gets the row of a given bit number
+	 * @param cell the bit number
+	 * @return the row of the bit number
+	 */
+	public static int row(int cell)
+	{
+		return cell / SIZE;
+	}
+
+	/**
+	 * Gets the column of a given bit number
+	 * @param cell the bit number
+	 * @return the column of the bit number
+	 */
+	public static int col(int cell)
+	{
+		return cell % SIZE;
+	}
+
+	/**
+	 * Checks if a given board location is a hole
+	 * @param row the row of the location
+	 * @param col the column of the location
+	 * @return true if the location is a hole, false otherwise
+	 */
+	public boolean isHole(int row, int col)
+	{
+		return isSet(holeWords, cell(row, col));
+	}
+
+	/**
+	 * Checks if a peg in a given hole could jump in a given direction on an empty board (ignoring the other pegs)
+	 * @param from the bit number of the hole
+	 * @param direction the jump direction
+	 * @return true if the jump stays on the board, false otherwise
+	 */
+	public boolean canJump(int from, int direction)
+	{
+		return isSet(jumpFromWords[direction], from);
+	}
+
+	/**
+	 * Gets the type of board the holes are from
+	 * @return the type of board (0: Cross, 1: Octagon, 2: Triangle)
+	 */
+	public int getBoardType()
+	{
+		return boardType;
+	}
+
+	/**
+	 * Gets the hole a one peg finish should end on when it can
+	 * @return the bit number of the hole (-1: no such hole)
+	 */
+	public int getCentre()
+	{
+		return centre;
+	}
+
+	/**
+	 * Checks if the board's positions take more than one long
+	 * @return true if only the methods taking long[] positions can be used, false otherwise
+	 */
+	public boolean isWide()
+	{
+		return wide;
+	}
+
+	/**
+	 * Gets the number of rows with holes
+	 * @return the number of rows, counting from row 0
+	 */
+	public int rows()
+	{
+		return rows;
+	}
+
+	/**
+	 * Gets the bits of all holes on the board (only for boards that aren't wide)
+	 * @return a long with one bit set for every hole
+	 */
+	public long getHoles()
+	{
+		return holes;
+	}
+
+	/**
+	 * Checks if another board has the same holes and jump directions, so positions and results of one are valid on
+	 * the other (two boards of the boards file can have the same holes but jump differently)
+	 * @param board the other board
+	 * @return true if the holes and jumps are the same, false otherwise
+	 */
+	public boolean hasSameJumps(BitBoard board)
+	{
+		return Arrays.equals(holeWords, board.holeWords) && Arrays.equals(shifts, board.shifts);
+	}
+
+	/**
+	 * Gets a number made from the jump directions, in order, to tell apart files of boards with the same holes
+	 * It is the same every time the program runs
+	 * @return the number
+	 */
+	public int getJumpCode()
+	{
+		return Arrays.hashCode(shifts);
+	}
+
+	/**
+	 * Gets the number of holes on the board
+	 * @return the number of holes
+	 */
+	public int holeCount()
+	{
+		return holeCells.length;
+	}
+
+	/**
+	 * Gets the number of a hole, counting the holes row by row from 0
+	 * @param cell the bit number of the hole
+	 * @return the hole number
+	 */
+	public int holeNumber(int cell)
+	{
+		return holeNumbers[cell];
+	}
+
+	/**
+	 * Gets the bit number of a hole
+	 * @param hole the hole number
+	 * @return the bit number of the hole
+	 */
+	public int holeCell(int hole)
+	{
+		return holeCells[hole];
+	}
+
+	/**
+	 * Converts a position to one bit per hole, with bit i set when hole number i has a peg
+	 * @param pegs the bit representation of the position
+	 * @return the position by hole number
+	 */
+	public long toHoleBits(long pegs)
+	{
+		long holeBits = 0;
+		while (pegs != 0)
+		{
+			holeBits |= 1L << holeNumbers[Long.numberOfTrailingZeros(pegs)];
+			pegs &= pegs - 1;
+		}
+		return holeBits;
+	}
+
+	/**
+	 * Converts a position from one bit per hole back to its bit representation
+	 * @param holeBits the position by hole number
+	 * @return the bit representation of the position
+	 */
+	public long fromHoleBits(long holeBits)
+	{
+		long pegs = 0;
+		while (holeBits != 0)
+		{
+			pegs |= 1L << holeCells[Long.numberOfTrailingZeros(holeBits)];
+			holeBits &= holeBits - 1;
+		}
+		return pegs;
+	}
+
+	/**
+	 * Gets the number of jump directions for this board
+	 * @return the number of jump directions
+	 */
+	public int directions()
+	{
+		return shifts.length;
+	}
+
+	/**
+	 * Gets the change in bit number of one step in a given direction
+	 * @param direction the jump direction
+	 * @return the change in bit number
+	 */
+	public int shift(int direction)
+	{
+		return shifts[direction];
+	}
+
+	/**
+	 * Converts a board to its bit representation
+	 * @param board the board to convert
+	 * @return a long with one bit set for every peg
+	 */
+	public long toBits(int[][] board)
+	{
+		long pegs = 0;
+		for (int row = 0; row < SIZE; row++)
+		{
+			for (int col = 0; col < SIZE; col++)
+			{
+				if (board[row][col] == 1)
+					pegs |= 1L << cell(row, col);
+			}
+		}
+		return pegs;
+	}
+
+	/**
+	 * Finds every peg that can jump in a given direction
+	 * @param pegs the current position
+	 * @param direction the jump direction
+	 * @return a long with one bit set for every peg that can jump in this direction
+	 */
+	public long movers(long pegs, int direction)
+	{
+		// A peg can jump if the next hole has a peg and the hole after that is empty
+		int shift = shifts[direction];
+		long empty = holes & ~pegs;
+		if (shift > 0)
+			return pegs & (pegs >>> shift) & (empty >>> (2 * shift)) & jumpFrom[direction];
+		else
+			return pegs & (pegs << -shift) & (empty << (-2 * shift)) & jumpFrom[direction];
+	}
+
+	/**
+	 * Finds every empty hole a peg could have jumped from in a given direction to reach a position
+	 * @param pegs the current position
+	 * @param direction the jump direction
+	 * @return a long with one bit set for every hole where undoing a jump in this direction would put the peg back
+	 */
+	public long reverseMovers(long pegs, int direction)
+	{
+		// A jump can be undone if the hole it started from and the hole it jumped over are empty and it ended on a peg
+		int shift = shifts[direction];
+		long empty = holes & ~pegs;
+		if (shift > 0)
+			return empty & (empty >>> shift) & (pegs >>> (2 * shift)) & jumpFrom[direction];
+		else
+			return empty & (empty << -shift) & (pegs << (-2 * shift)) & jumpFrom[direction];
+	}
+
+	/**
+	 * Gets the bits changed by a jump
+	 * @param from the bit number of the jumping peg
+	 * @param direction the jump direction
+	 * @return a long with the start, jumped and end bits set
+	 */
+	public long jumpMask(int from, int direction)
+	{
+		int shift = shifts[direction];
+		return (1L << from) | (1L << (from + shift)) | (1L << (from + 2 * shift));
+	}
+
+	/**
+	 * Makes (or undoes) a jump
+	 * @param pegs the current position
+	 * @param from the bit number of the jumping peg
+	 * @param direction the jump direction
+	 * @return the position after the jump
+	 */
+	public long jump(long pegs, int from, int direction)
+	{
+		return pegs ^ jumpMask(from, direction);
+	}
+
+	/**
+	 * Calculates the hash key of a position from scratch
+	 * @param pegs the position
+	 * @return the hash key of the position
+	 */
+	public long key(long pegs)
+	{
+		long key = 0;
+		while (pegs != 0)
+		{
+			key ^= zobrist[Long.numberOfTrailingZeros(pegs)];
+			pegs &= pegs - 1;
+		}
+		return key;
+	}
+
+	/**
+	 * Gets the change in hash key made by (or undoing) a jump
+	 * @param from the bit number of the jumping peg
+	 * @param direction the jump direction
+	 * @return the value to exclusive or with the key
+	 */
+	public long jumpKey(int from, int direction)
+	{
+		return jumpKeys[direction][from];
+	}
+
+	/**
+	 * Gets the number of symmetries (rotations and reflections) of the board, symmetry 0 is always the identity
+	 * @return the number of symmetries
+	 */
+	public int symmetries()
+	{
+		return symmetryCells.length;
+	}
+
+	/**
+	 * Maps a bit number under a symmetry
+	 * @param symmetry the symmetry
+	 * @param cell the bit number
+	 * @return the bit number the cell is mapped to
+	 */
+	public int symmetryCell(int symmetry, int cell)
+	{
+		return symmetryCells[symmetry][cell];
+	}
+
+	/**
+	 * Maps a jump direction under a symmetry
+	 * @param symmetry the symmetry
+	 * @param direction the jump direction
+	 * @return the direction the jump is mapped to
+	 */
+	public int symmetryDirection(int symmetry, int direction)
+	{
+		return symmetryDirections[symmetry][direction];
+	}
+
+	/**
+	 * Maps a bit number back from a symmetry
+	 * @param symmetry the symmetry
+	 * @param cell the mapped bit number
+	 * @return the original bit number
+	 */
+	public int inverseCell(int symmetry, int cell)
+	{
+		return inverseCells[symmetry][cell];
+	}
+
+	/**
+	 * Maps a jump direction back from a symmetry
+	 * @param symmetry the symmetry
+	 * @param direction the mapped jump direction
+	 * @return the original jump direction
+	 */
+	public int inverseDirection(int symmetry, int direction)
+	{
+		return inverseDirections[symmetry][direction];
+	}
+
+	/**
+	 * Maps a whole position under a symmetry
+	 * @param symmetry the symmetry
+	 * @param pegs the position
+	 * @return the mapped position
+	 */
+	public long transform(int symmetry, long pegs)
+	{
+		long mapped = 0;
+		while (pegs != 0)
+		{
+			mapped |= 1L << symmetryCells[symmetry][Long.numberOfTrailingZeros(pegs)];
+			pegs &= pegs - 1;
+		}
+		return mapped;
+	}
+
+	/**
+	 * Finds the symmetry that gives the canonical (smallest) copy of a position
+	 * @param mapped the position under each symmetry
+	 * @return the symmetry with the smallest mapped position
+	 */
+	public int canonical(long[] mapped)
+	{
+		int best = 0;
+		for (int s = 1; s < symmetryCells.length; s++)
+		{
+			if (mapped[s] < mapped[best])
+				best = s;
+		}
+		return best;
+	}
+
+	/**
+	 * Checks if any peg in a position can jump
+	 * @param pegs the current position
+	 * @return true if there is at least one possible jump, false otherwise
+	 */
+	public boolean hasMoves(long pegs)
+	{
+		for (int d = 0; d < shifts.length; d++)
+		{
+			if (movers(pegs, d) != 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Converts a board to the longs of its position (for boards of any size)
+	 * @param board the board to convert
+	 * @return WORDS longs with one bit set for every peg
+	 */
+	public long[] toWords(int[][] board)
+	{
+		long[] pegs = new long[WORDS];
+		for (int row = 0; row < SIZE; row++)
+		{
+			for (int col = 0; col < SIZE; col++)
+			{
+				if (board[row][col] == 1)
+					set(pegs, cell(row, col));
+			}
+		}
+		return pegs;
+	}
+
+	/**
+	 * Checks if a bit of a position in longs is set
+	 * @param bits the longs
+	 * @param bit the bit number
+	 * @return true if the bit is set, false otherwise
+	 */
+	public static boolean isSet(long[] bits, int bit)
+	{
+		return (bits[bit >>> 6] >>> bit & 1) != 0;
+	}
+
+	/**
+	 * Sets a bit of a position in longs
+	 * @param bits the longs
+	 * @param bit the bit number
+	 */
+	public static void set(long[] bits, int bit)
+	{
+		bits[bit >>> 6] |= 1L << bit;
+	}
+
+	/**
+	 * Clears a bit of a position in longs
+	 * @param bits the longs
+	 * @param bit the bit number
+	 */
+	public static void clear(long[] bits, int bit)
+	{
+		bits[bit >>> 6] &= ~(1L << bit);
+	}
+
+	/**
+	 * Counts the bits set in a position in longs
+	 * @param bits the longs
+	 * @return the number of bits set
+	 */
+	public static int bitCount(long[] bits)
+	{
+		int count = 0;
+		for (int word = 0; word < bits.length; word++)
+			count += Long.bitCount(bits[word]);
+		return count;
+	}
+
+	/**
+	 * Gets one long of a position in longs shifted right, as if the longs were a single number
+	 * @param bits the longs
+	 * @param word the long of the result to get
+	 * @param shift the number of bits to shift right (negative to shift left)
+	 * @return the long, with bit i set if bit word * 64 + i + shift of the longs is set
+	 */
+	private static long shifted(long[] bits, int word, int shift)
+	{
+		int from = word * 64 + shift;
+		int index = from >> 6, offset = from & 63;
+		long low = index >= 0 && index < bits.length ? bits[index] : 0;
+		if (offset == 0)
+			return low;
+		long high = index + 1 >= 0 && index + 1 < bits.length ? bits[index + 1] : 0;
+		return low >>> offset | high << (64 - offset);
+	}
+
+	/**
+	 * Gets the pegs of one row of a position in longs
+	 * @param pegs the position
+	 * @param row the row
+	 * @return the pegs of the row, with bit i set if column i has a peg
+	 */
+	public static int rowBits(long[] pegs, int row)
+	{
+		return (int) shifted(pegs, 0, row * SIZE) & ((1 << SIZE) - 1);
+	}
+
+	/**
+	 * Finds every peg that can jump in a given direction (for boards of any size)
+	 * @param pegs the current position
+	 * @param direction the jump direction
+	 * @param movers filled with one bit set for every peg that can jump in this direction
+	 */
+	public void movers(long[] pegs, int direction, long[] movers)
+	{
+		// The hole after the next one is always on the board for the cells a jump can start from
+		int shift = shifts[direction];
+		for (int word = 0; word < WORDS; word++)
+			movers[word] = pegs[word] & shifted(pegs, word, shift) & ~shifted(pegs, word, 2 * shift)
+					& jumpFromWords[direction][word];
+	}
+
+	/**
+	 * Makes (or undoes) a jump (for boards of any size)
+	 * @param pegs the current position
+	 * @param from the bit number of the jumping peg
+	 * @param direction the jump direction
+	 * @param after filled with the position after the jump (can be pegs itself)
+	 */
+	public void jump(long[] pegs, int from, int direction, long[] after)
+	{
+		int shift = shifts[direction];
+		System.arraycopy(pegs, 0, after, 0, WORDS);
+		after[from >>> 6] ^= 1L << from;
+		after[(from + shift) >>> 6] ^= 1L << (from + shift);
+		after[(from + 2 * shift) >>> 6] ^= 1L << (from + 2 * shift);
+	}
+
+	/**
+	 * Calculates the hash key of a position from scratch (for boards of any size)
+	 * @param pegs the position
+	 * @return the hash key of the position
+	 */
+	public long key(long[] pegs)
+	{
+		long key = 0;
+		for (int word = 0; word < WORDS; word++)
+		{
+			for (long bits = pegs[word]; bits != 0; bits &= bits - 1)
+				key ^= zobrist[word * 64 + Long.numberOfTrailingZeros(bits)];
+		}
+		return key;
+	}
+
+	/**
+	 * Maps a whole position under a symmetry (for boards of any size)
+	 * @param symmetry the symmetry
+	 * @param pegs the position
+	 * @param mapped filled with the mapped position
+	 */
+	public void transform(int symmetry, long[] pegs, long[] mapped)
+	{
+		Arrays.fill(mapped, 0);
+		for (int word = 0; word < WORDS; word++)
+		{
+			for (long bits = pegs[word]; bits != 0; bits &= bits - 1)
+				set(mapped, symmetryCells[symmetry][word * 64 + Long.numberOfTrailingZeros(bits)]);
+		}
+	}
+
+	/**
+	 * Checks if any peg in a position can jump (for boards of any size)
+	 * @param pegs the current position
+	 * @return true if there is at least one possible jump, false otherwise
+	 */
+	public boolean hasMoves(long[] pegs)
+	{
+		// The same test as movers, one long at a time, so nothing is allocated
+		for (int d = 0; d < shifts.length; d++)
+		{
+			int shift = shifts[d];
+			for (int word = 0; word < WORDS; word++)
+			{
+				if ((pegs[word] & shifted(pegs, word, shift) & ~shifted(pegs, word, 2 * shift)
+						& jumpFromWords[d][word]) != 0)
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the symmetry that gives the canonical (smallest) copy of a position (for boards of any size)
+	 * @param mapped the position under each symmetry
+	 * @return the symmetry with the smallest mapped position, comparing the last long first
+	 */
+	public int canonical(long[][] mapped)
+	{
+		int best = 0;
+		for (int s = 1; s < symmetryCells.length; s++)
+		{
+			int word = WORDS - 1;
+			while (word > 0 && mapped[s][word] == mapped[best][word])
+				word--;
+			if (mapped[s][word] < mapped[best][word])
+				best = s;
+		}
+		return best;
+	}
+}
@@ -0,0 +1,433 @@
+/**
+ * The "BoardDefinition" class
+ * Describes one kind of board read from Boards/Boards.txt: its holes, jump directions, where its pieces are drawn and
+ * its named set ups. The boards are numbered in the order of the file (0: Cross, 1: Octagon, 2: Triangle), and each
+ * one works out a table of every jump when it is read, so checking a move is a single look up
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.io.*;
+import java.net.URL;
+import java.util.ArrayList;
+
+public class BoardDefinition
+{
+	// Every board, in the order of the file
+	private static ArrayList<BoardDefinition> boards;
+
+	private String name, image;
+	private int type;
+	// Where the piece at row 0, column 0 is drawn, how far right each row starts from the row above, and how close to a
+	// hole a dropped piece has to be
+	private int left, top, rowShift, snap;
+	private int[][] steps;
+	private int centre;
+	private int[][] holes;
+	private ArrayList<int[][]> pagodas;
+	private ArrayList<String> setUpNames;
+	private ArrayList<int[][]> setUps;
+	// For every start and end location (start * 81 + end), the location jumped over (-1: not a jump)
+	private int[] jumped;
+
+	/**
+	 * Constructs a new BoardDefinition with no set ups
+	 * @param name the name of the board
+	 * @param type the number of the board
+	 */
+	private BoardDefinition(String name, int type)
+	{
+		this.name = name;
+		this.type = type;
+		centre = -1;
+		snap = 20;
+		pagodas = new ArrayList<int[][]>();
+		setUpNames = new ArrayList<String>();
+		setUps = new ArrayList<int[][]>();
+	}
+
+	/**
+	 * Gets a board, reading the boards file the first time
+	 * @param type the number of the board (0: Cross, 1: Octagon, 2: Triangle)
+	 * @return the board
+	 */
+	public static synchronized BoardDefinition get(int type)
+	{
+		if (boards == null)
+			load();
+		return boards.get(type);
+	}
+
+	/**
+	 * Gets the number of boards, reading the boards file the first time
+	 * @return the number of boards
+	 */
+	public static synchronized int count()
+	{
+		if (boards == null)
+			load();
+		return boards.size();
+	}
+
+	/**
+	 * Reads the boards file, found on the classpath (in the jar) under Boards/ or in the Boards folder of the working
+	 * folder
+	 */
+	private static void load()
+	{
+		boards = new ArrayList<BoardDefinition>();
+		try
+		{
+			URL url = BoardDefinition.class.getResource("/Boards/Boards.txt");
+			if (url == null)
+				url = new File("Boards", "Boards.txt").toURI().toURL();
+			BufferedReader in = new BufferedReader(new InputStreamReader(url.openStream(), "UTF-8"));
+			try
+			{
+				boards = read(in);
+			}
+			finally
+			{
+				in.close();
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Reads board definitions
+	 * @param in the definitions, in the format described at the top of Boards/Boards.txt
+	 * @return the boards
+	 * @throws IOException if the definitions can't be read or aren't valid
+	 */
+	public static ArrayList<BoardDefinition> read(BufferedReader in) throws IOException
+	{
+		ArrayList<BoardDefinition> read = new ArrayList<BoardDefinition>();
+		BoardDefinition board = null;
+		// The rows being read for a pagoda function or set up
+		ArrayList<String> rows = null;
+		String line;
+		int lineNumber = 0;
+		while ((line = in.readLine()) != null)
+		{
+			lineNumber++;
+			line = line.trim();
+			// Skip blank lines and comments
+			if (line.length() == 0 || line.startsWith("#"))
+				continue;
+			String[] fields = line.split("\\s+");
+			String keyword = fields[0];
+			try
+			{
+				if (keyword.equals("board"))
+				{
+					if (board != null)
+						board.finish(rows);
+					board = new BoardDefinition(line.substring(keyword.length()).trim(), read.size());
+					read.add(board);
+					rows = null;
+				}
+				else if (board == null)
+					throw new IOException("Expected a board");
+				else if (keyword.equals("image"))
+					board.image = fields[1];
+				else if (keyword.equals("origin"))
+				{
+					board.left = Integer.parseInt(fields[1]);
+					board.top = Integer.parseInt(fields[2]);
+					board.rowShift = Integer.parseInt(fields[3]);
+				}
+				else if (keyword.equals("snap"))
+					board.snap = Integer.parseInt(fields[1]);
+				else if (keyword.equals("jumps"))
+				{
+					board.steps = new int[fields.length - 1][2];
+					for (int d = 0; d < board.steps.length; d++)
+					{
+						String[] step = fields[d + 1].split(",");
+						board.steps[d][0] = Integer.parseInt(step[0]);
+						board.steps[d][1] = Integer.parseInt(step[1]);
+					}
+				}
+				else if (keyword.equals("centre"))
+					board.centre = BitBoard.cell(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]));
+				else if (keyword.equals("pagoda") || keyword.equals("setup"))
+				{
+					board.addRows(rows);
+					rows = new ArrayList<String>();
+					rows.add(line);
+				}
+				else if (rows != null)
+					rows.add(line);
+				else
+					throw new IOException("Unknown setting " + keyword);
+			}
+			catch (IOException e)
+			{
+				throw new IOException("Line " + lineNumber + ": " + e.getMessage());
+			}
+			catch (RuntimeException e)
+			{
+				throw new IOException("Line " + lineNumber + ": " + e);
+			}
+		}
+		if (board != null)
+			board.finish(rows);
+		return read;
+	}
+
+	/**
+	 * Adds a pagoda function or set up once all of its rows are read
+	 * @param rows the pagoda or setup line followed by its rows (null: nothing to add)
+	 * @throws IOException if the rows aren't valid
+	 */
+	private void addRows(ArrayList<String> rows) throws IOException
+	{
+		if (rows == null)
+			return;
+		if (rows.size() - 1 > BitBoard.SIZE)
+			throw new IOException(rows.get(0) + " has more than " + BitBoard.SIZE + " rows");
+		if (rows.get(0).startsWith("pagoda"))
+		{
+			int[][] weights = new int[BitBoard.SIZE][BitBoard.SIZE];
+			for (int row = 1; row < rows.size(); row++)
+			{
+				String[] fields = rows.get(row).split("\\s+");
+				for (int col = 0; col < fields.length && col < BitBoard.SIZE; col++)
+					weights[row - 1][col] = Integer.parseInt(fields[col]);
+			}
+			pagodas.add(weights);
+			return;
+		}
+
+		// A set up, with every location not given left off the board
+		int[][] board = new int[BitBoard.SIZE][BitBoard.SIZE];
+		for (int row = 0; row < BitBoard.SIZE; row++)
+		{
+			String cells = row + 1 < rows.size() ? rows.get(row + 1) : "";
+			if (cells.length() > BitBoard.SIZE)
+				throw new IOException(rows.get(0) + " has more than " + BitBoard.SIZE + " columns");
+			for (int col = 0; col < BitBoard.SIZE; col++)
+			{
+				char cell = col < cells.length() ? cells.charAt(col) : '.';
+				if (cell == 'x')
+					board[row][col] = 1;
+				else if (cell == 'o')
+					board[row][col] = 0;
+				else if (cell == '.')
+					board[row][col] = 2;
+				else
+					throw new IOException(rows.get(0) + " has an unknown location '" + cell + "'");
+				if (holes != null && (board[row][col] == 2) != (holes[row][col] == 2))
+					throw new IOException(rows.get(0) + " has different holes from the first set up");
+			}
+		}
+		if (holes == null)
+			holes = board;
+		setUpNames.add(rows.get(0).substring("setup".length()).trim());
+		setUps.add(board);
+	}
+
+	/**
+	 * Checks the board once all of it is read, and works out the table of jumps
+	 * @param rows the rows of the last pagoda function or set up (null: none)
+	 * @throws IOException if the board isn't complete
+	 */
+	private void finish(ArrayList<String> rows) throws IOException
+	{
+		addRows(rows);
+		if (image == null || steps == null || setUps.isEmpty())
+			throw new IOException("Board " + name + " needs an image, jumps and at least one set up");
+
+		int cells = BitBoard.SIZE * BitBoard.SIZE;
+		jumped = new int[cells * cells];
+		for (int i = 0; i < jumped.length; i++)
+			jumped[i] = -1;
+		for (int row = 0; row < BitBoard.SIZE; row++)
+		{
+			for (int col = 0; col < BitBoard.SIZE; col++)
+			{
+				for (int d = 0; d < steps.length; d++)
+				{
+					int overRow = row + steps[d][0], overCol = col + steps[d][1];
+					int endRow = overRow + steps[d][0], endCol = overCol + steps[d][1];
+					if (isHole(row, col) && isHole(overRow, overCol) && isHole(endRow, endCol))
+						jumped[BitBoard.cell(row, col) * cells + BitBoard.cell(endRow, endCol)] = BitBoard.cell(overRow,
+								overCol);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the name of the board
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Gets the number of the board
+	 * @return the number, in the order of the boards file
+	 */
+	public int getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the file name of the picture of the board
+	 * @return the file name in the Images folder
+	 */
+	public String getImage()
+	{
+		return image;
+	}
+
+	/**
+	 * Gets the jump directions
+	 * @return the row and column change of one step in each direction
+	 */
+	public int[][] getSteps()
+	{
+		return steps;
+	}
+
+	/**
+	 * Gets the hole a one peg finish should end on when it can
+	 * @return the bit number of the hole (-1: no such hole)
+	 */
+	public int getCentre()
+	{
+		return centre;
+	}
+
+	/**
+	 * Gets the pagoda functions of the board
+	 * @return the weight of each hole for each pagoda function, by row and column
+	 */
+	public int[][][] getPagodas()
+	{
+		return pagodas.toArray(new int[pagodas.size()][][]);
+	}
+
+	/**
+	 * Gets the number of set ups
+	 * @return the number of set ups
+	 */
+	public int getSetUpCount()
+	{
+		return setUps.size();
+	}
+
+	/**
+	 * Gets the name of a set up
+	 * @param setUp the number of the set up
+	 * @return the name
+	 */
+	public String getSetUpName(int setUp)
+	{
+		return setUpNames.get(setUp);
+	}
+
+	/**
+	 * Creates the starting board of a set up
+	 * @param setUp the number of the set up
+	 * @return a new board (0: empty hole, 1: peg, 2: not a hole)
+	 */
+	public int[][] createBoard(int setUp)
+	{
+		int[][] board = new int[BitBoard.SIZE][];
+		for (int row = 0; row < BitBoard.SIZE; row++)
+			board[row] = setUps.get(setUp)[row].clone();
+		return board;
+	}
+
+	/**
+	 * Checks if a location is a hole of the board
+	 * @param row the row of the location
+	 * @param col the column of the location
+	 * @return true if the location is a hole, false if it isn't or is outside the board
+	 */
+	public boolean isHole(int row, int col)
+	{
+		return row >= 0 && row < BitBoard.SIZE && col >= 0 && col < BitBoard.SIZE && holes[row][col] != 2;
+	}
+
+	/**
+	 * Finds the location a piece jumps over
+	 * @param startRow start row of the piece
+	 * @param startCol start column of the piece
+	 * @param newRow new row of the piece
+	 * @param newCol new column of the piece
+	 * @return the bit number of the location jumped over (-1: the move isn't a jump of this board)
+	 */
+	public int jumpedLocation(int startRow, int startCol, int newRow, int newCol)
+	{
+		if (!isHole(startRow, startCol) || !isHole(newRow, newCol))
+			return -1;
+		return jumped[BitBoard.cell(startRow, startCol) * BitBoard.SIZE * BitBoard.SIZE + BitBoard.cell(newRow, newCol)];
+	}
+
+	/**
+	 * Gets the x coordinate of the centre of a board location
+	 * @param row the row of the location
+	 * @param col the column of the location
+	 * @return the x coordinate (in pixels)
+	 */
+	public int centreX(int row, int col)
+	{
+		return left + row * rowShift + col * 50 + 24;
+	}
+
+	/**
+	 * Gets the y coordinate of the centre of a board location
+	 * @param row the row of the location
+	 * @return the y coordinate (in pixels)
+	 */
+	public int centreY(int row)
+	{
+		return top + row * 50 + 24;
+	}
+
+	/**
+	 * Gets how close to a hole a dropped piece has to be to land in it
+	 * @return the distance (in pixels)
+	 */
+	public int getSnap()
+	{
+		return snap;
+	}
+
+	/**
+	 * Finds the hole a pixel is on, working out the only hole it can be near instead of checking each one
+	 * @param x the x coordinate of the pixel
+	 * @param y the y coordinate of the pixel
+	 * @param radius how close the pixel has to be to the centre of the hole (in pixels)
+	 * @return the hole as row * 9 + column (-1: not close enough to any hole)
+	 */
+	public int locationAt(int x, int y, int radius)
+	{
+		// Every location is 50 pixels apart, so the nearest one is found by rounding
+		int fromTop = y - centreY(0) + 25;
+		if (fromTop < 0 || fromTop >= BitBoard.SIZE * 50)
+			return -1;
+		int row = fromTop / 50;
+		int fromLeft = x - centreX(row, 0) + 25;
+		if (fromLeft < 0 || fromLeft >= BitBoard.SIZE * 50)
+			return -1;
+		int col = fromLeft / 50;
+		if (!isHole(row, col))
+			return -1;
+		int dx = x - centreX(row, col), dy = y - centreY(row);
+		// Squared distances are compared, with the distance rounded down to whole pixels
+		if (dx * dx + dy * dy >= (radius + 1) * (radius + 1))
+			return -1;
+		return BitBoard.cell(row, col);
+	}
+}
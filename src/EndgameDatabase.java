@@ -0,0 +1,286 @@
+/**
+ * The "EndgameDatabase" class
+ * Knows every position with a few pegs that can be reduced to one peg, stored as one bit per position in a file that is
+ * generated ahead of time (by running this class) and memory-mapped when the game starts
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.io.*;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class EndgameDatabase
+{
+	// The positions of the Cross and Octagon boards with this many pegs or fewer are stored
+	public static final int MAX_PEGS = 7;
+	// The file starts with the holes of the board, the maximum number of pegs and the code of the board's jump
+	// directions (BitBoard.getJumpCode)
+	private static final int HEADER_BYTES = 16;
+
+	private BitBoard bitBoard;
+	private int maxPegs;
+	private long[] offsets;
+	private long[][] choose;
+	private LongBuffer bits;
+
+	/**
+	 * Constructs a new EndgameDatabase with no positions marked
+	 * @param board the holes and jumps of the board
+	 * @param maxPegs the largest number of pegs stored
+	 * @param bits the bits of the positions (null: make an empty set of bits)
+	 */
+	private EndgameDatabase(BitBoard board, int maxPegs, LongBuffer bits)
+	{
+		bitBoard = board;
+		this.maxPegs = maxPegs;
+
+		// A position with k pegs is a k-element subset of the hole numbers
+		int holeCount = board.holeCount();
+
+		// Pascal's triangle, to number the subsets of each size
+		choose = new long[holeCount + 1][maxPegs + 2];
+		for (int n = 0; n <= holeCount; n++)
+		{
+			choose[n][0] = 1;
+			for (int k = 1; k <= maxPegs + 1 && k <= n; k++)
+				choose[n][k] = choose[n - 1][k - 1] + choose[n - 1][k];
+		}
+		// The positions with k pegs come after all positions with fewer pegs
+		offsets = new long[maxPegs + 2];
+		for (int k = 1; k <= maxPegs + 1; k++)
+			offsets[k] = offsets[k - 1] + choose[holeCount][k - 1];
+
+		if (bits == null)
+			bits = LongBuffer.allocate((int) ((offsets[maxPegs + 1] + 63) >>> 6));
+		this.bits = bits;
+	}
+
+	/**
+	 * Maps a database file into memory
+	 * @param file the file written by generate
+	 * @param boardType the type of board the file is for (0: Cross, 1: Octagon)
+	 * @return the database, or null if the file is missing or unreadable
+	 */
+	public static EndgameDatabase load(File file, int boardType)
+	{
+		if (!file.isFile())
+			return null;
+		try
+		{
+			RandomAccessFile in = new RandomAccessFile(file, "r");
+			try
+			{
+				MappedByteBuffer buffer = in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length());
+				BitBoard board = new BitBoard(boardFor(buffer.getLong(0)), boardType);
+				int maxPegs = buffer.getInt(8);
+				// A file made for the board when it jumped differently is no use
+				if (buffer.getInt(12) != board.getJumpCode())
+					return null;
+				buffer.position(HEADER_BYTES);
+				EndgameDatabase database = new EndgameDatabase(board, maxPegs, buffer.slice().asLongBuffer());
+				if (database.bits.capacity() < (database.offsets[maxPegs + 1] + 63) >>> 6)
+					return null;
+				return database;
+			}
+			finally
+			{
+				// The mapping stays valid after the file is closed
+				in.close();
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Makes a board with no pegs from the bits of its holes
+	 * @param holes a long with one bit set for every hole
+	 * @return the board (0: empty hole, 2: not a hole)
+	 */
+	private static int[][] boardFor(long holes)
+	{
+		int[][] board = new int[BitBoard.SIZE][BitBoard.SIZE];
+		for (int row = 0; row < BitBoard.SIZE; row++)
+		{
+			for (int col = 0; col < BitBoard.SIZE; col++)
+			{
+				if ((holes >>> BitBoard.cell(row, col) & 1) == 0)
+					board[row][col] = 2;
+			}
+		}
+		return board;
+	}
+
+	/**
+	 * Finds every position with up to a given number of pegs that can be reduced to one peg
+	 * Works backwards from the one-peg positions: undoing a jump on a position that can be solved gives another one
+	 * @param board the holes and jumps of the board
+	 * @param maxPegs the largest number of pegs to store
+	 * @return the database
+	 */
+	public static EndgameDatabase generate(BitBoard board, int maxPegs)
+	{
+		EndgameDatabase database = new EndgameDatabase(board, maxPegs, null);
+		long holes = board.getHoles();
+		while (holes != 0)
+		{
+			database.set(1L << Long.numberOfTrailingZeros(holes));
+			holes &= holes - 1;
+		}
+
+		for (int k = 2; k <= maxPegs; k++)
+		{
+			for (long index = database.offsets[k - 1]; index < database.offsets[k]; index++)
+			{
+				if ((database.bits.get((int) (index >>> 6)) >>> index & 1) == 0)
+					continue;
+				long pegs = database.position(k - 1, index - database.offsets[k - 1]);
+				for (int d = 0; d < board.directions(); d++)
+				{
+					long from = board.reverseMovers(pegs, d);
+					while (from != 0)
+					{
+						database.set(board.jump(pegs, Long.numberOfTrailingZeros(from), d));
+						from &= from - 1;
+					}
+				}
+			}
+		}
+		return database;
+	}
+
+	/**
+	 * Writes the database to a file that load can map
+	 * @param file the file to write
+	 * @throws IOException if the file can't be written
+	 */
+	public void write(File file) throws IOException
+	{
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try
+		{
+			out.writeLong(bitBoard.getHoles());
+			out.writeInt(maxPegs);
+			out.writeInt(bitBoard.getJumpCode());
+			for (int i = 0; i < bits.capacity(); i++)
+				out.writeLong(bits.get(i));
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * Gets the bit number of a position in the database
+	 * @param pegs the position
+	 * @return the bit number of the position
+	 */
+	private long index(long pegs)
+	{
+		// Number the subsets of each size in co-lexicographic order
+		long index = offsets[Long.bitCount(pegs)];
+		for (int i = 1; pegs != 0; i++)
+		{
+			index += choose[bitBoard.holeNumber(Long.numberOfTrailingZeros(pegs))][i];
+			pegs &= pegs - 1;
+		}
+		return index;
+	}
+
+	/**
+	 * Gets the position with a given number within the positions with the same number of pegs
+	 * @param pegCount the number of pegs in the position
+	 * @param number the number of the position among the positions with pegCount pegs
+	 * @return the position
+	 */
+	private long position(int pegCount, long number)
+	{
+		// Take the highest hole number first, as the largest one whose count of subsets fits in what's left
+		long pegs = 0;
+		int hole = bitBoard.holeCount();
+		for (int i = pegCount; i >= 1; i--)
+		{
+			while (choose[hole][i] > number)
+				hole--;
+			number -= choose[hole][i];
+			pegs |= 1L << bitBoard.holeCell(hole);
+			hole--;
+		}
+		return pegs;
+	}
+
+	/**
+	 * Marks a position as one that can be reduced to one peg (only used while generating)
+	 * @param pegs the position
+	 */
+	private void set(long pegs)
+	{
+		long index = index(pegs);
+		int word = (int) (index >>> 6);
+		bits.put(word, bits.get(word) | 1L << index);
+	}
+
+	/**
+	 * Checks if the database is for a board
+	 * @param board the holes and jumps of the board
+	 * @return true if the board has the same holes and jumps as the database's board, false otherwise
+	 */
+	public boolean isFor(BitBoard board)
+	{
+		return bitBoard.hasSameJumps(board);
+	}
+
+	/**
+	 * Gets the largest number of pegs stored
+	 * @return the largest number of pegs
+	 */
+	public int getMaxPegs()
+	{
+		return maxPegs;
+	}
+
+	/**
+	 * Checks if a position can be reduced to one peg
+	 * @param pegs the position (with at least one and no more than getMaxPegs pegs)
+	 * @return true if one peg can be reached, false otherwise
+	 */
+	public boolean isSolvable(long pegs)
+	{
+		long index = index(pegs);
+		return (bits.get((int) (index >>> 6)) >>> index & 1) != 0;
+	}
+
+	/**
+	 * Generates the databases for the boards in the Endgames folder (named after each board), except for boards small
+	 * enough to solve with a TriangleTable and wide boards
+	 * @param args the largest number of pegs to store (optional)
+	 */
+	public static void main(String[] args)
+	{
+		int maxPegs = MAX_PEGS;
+		if (args.length > 0)
+			maxPegs = Integer.parseInt(args[0]);
+
+		new File("Endgames").mkdirs();
+		try
+		{
+			for (int boardType = 0; boardType < BoardDefinition.count(); boardType++)
+			{
+				BoardDefinition definition = BoardDefinition.get(boardType);
+				BitBoard board = new BitBoard(definition.createBoard(0), boardType);
+				if (board.holeCount() > TriangleTable.MAX_HOLES && !board.isWide())
+					generate(board, maxPegs).write(new File("Endgames", definition.getName() + ".bits"));
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+}
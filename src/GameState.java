@@ -0,0 +1,270 @@
+/**
+ * The "GameState" class
+ * Keeps track of the board and the moves made in a game of Peg Solitaire, without any display, so it can be used
+ * by the game panel or on its own (all methods are safe to call from any thread)
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+public class GameState
+{
+	private int boardType, boardSetUp; // 0: Cross, 1: Octagon, 2: Triangle
+	private int[][] board;
+	// The same position as board, one bit set for every peg, kept up to date by every move so checking it needs no
+	// conversion
+	private long[] pegWords;
+	private BitBoard bitBoard;
+	private MoveHistory history;
+
+	/**
+	 * Constructs a new GameState at the start of a given board type and set up
+	 * @param boardType the type of board (0: Cross, 1: Octagon, 2: Triangle)
+	 * @param boardSetUp the set up of the pegs
+	 */
+	public GameState(int boardType, int boardSetUp)
+	{
+		this(createBoard(boardType, boardSetUp), boardType);
+		this.boardSetUp = boardSetUp;
+	}
+
+	/**
+	 * Constructs a new GameState starting from any position
+	 * @param board the board (0: empty hole, 1: peg, 2: not a hole), which is copied
+	 * @param boardType the type of board (0: Cross, 1: Octagon, 2: Triangle)
+	 */
+	public GameState(int[][] board, int boardType)
+	{
+		this.boardType = boardType;
+		boardSetUp = -1;
+		this.board = new int[BitBoard.SIZE][BitBoard.SIZE];
+		for (int row = 0; row < BitBoard.SIZE; row++)
+			System.arraycopy(board[row], 0, this.board[row], 0, BitBoard.SIZE);
+		bitBoard = new BitBoard(this.board, boardType);
+		pegWords = bitBoard.toWords(this.board);
+		history = new MoveHistory();
+	}
+
+	/**
+	 * Creates the starting board of a given board type and set up
+	 * @param boardType the type of board (0: Cross, 1: Octagon, 2: Triangle)
+	 * @param boardSetUp the set up of the pegs
+	 * @return the board (0: empty hole, 1: peg, 2: not a hole)
+	 */
+	public static int[][] createBoard(int boardType, int boardSetUp)
+	{
+		return BoardDefinition.get(boardType).createBoard(boardSetUp);
+	}
+
+	/**
+	 * Gets the type of board
+	 * @return the type of board (0: Cross, 1: Octagon, 2: Triangle)
+	 */
+	public int getBoardType()
+	{
+		return boardType;
+	}
+
+	/**
+	 * Gets the set up the game started from
+	 * @return the set up of the pegs (-1: started from another position)
+	 */
+	public int getBoardSetUp()
+	{
+		return boardSetUp;
+	}
+
+	/**
+	 * Gets the holes and jumps of the board
+	 * @return the BitBoard of the board
+	 */
+	public BitBoard getBitBoard()
+	{
+		return bitBoard;
+	}
+
+	/**
+	 * Gets what is at a given board location
+	 * @param row the row of the location
+	 * @param col the column of the location
+	 * @return 0: empty hole, 1: peg, 2: not a hole
+	 */
+	public synchronized int getPeg(int row, int col)
+	{
+		return board[row][col];
+	}
+
+	/**
+	 * Gets the current position (only for boards that aren't wide)
+	 * @return a long with one bit set for every peg
+	 */
+	public synchronized long getPegs()
+	{
+		return pegWords[0];
+	}
+
+	/**
+	 * Gets the current position on a board of any size
+	 * @return BitBoard.WORDS longs with one bit set for every peg
+	 */
+	public synchronized long[] getPegWords()
+	{
+		return pegWords.clone();
+	}
+
+	/**
+	 * Gets the number of moves made so far
+	 * @return the number of moves
+	 */
+	public synchronized int getMoveCount()
+	{
+		return history.size();
+	}
+
+	/**
+	 * Gets a copy of the moves made so far and the moves that can be redone, e.g. to save for a replay
+	 * @return the moves
+	 */
+	public synchronized MoveHistory getHistory()
+	{
+		return new MoveHistory(history);
+	}
+
+	/**
+	 * Checks if a move is valid given starting position and the proposed new position
+	 * @param startRow start row of a piece
+	 * @param startCol start column of a piece
+	 * @param newRow new row of a piece
+	 * @param newCol new column of a piece
+	 * @return true if the move is valid, false otherwise
+	 */
+	public synchronized boolean isValidMove(int startRow, int startCol, int newRow, int newCol)
+	{
+		// Check if the move was valid (current piece jumped into an empty spot with another piece in between), looking
+		// up the location jumped over in the board's table of jumps
+		int jumped = BoardDefinition.get(boardType).jumpedLocation(startRow, startCol, newRow, newCol);
+		if (jumped >= 0 && board[startRow][startCol] == 1 && board[newRow][newCol] == 0
+				&& board[BitBoard.row(jumped)][BitBoard.col(jumped)] == 1)
+			return true;
+		return false;
+	}
+
+	/**
+	 * Makes a move if it is valid
+	 * @param startRow start row of a piece
+	 * @param startCol start column of a piece
+	 * @param newRow new row of a piece
+	 * @param newCol new column of a piece
+	 * @return true if the move was made, false if it wasn't valid
+	 */
+	public synchronized boolean makeMove(int startRow, int startCol, int newRow, int newCol)
+	{
+		if (!isValidMove(startRow, startCol, newRow, newCol))
+			return false;
+
+		// Move the piece and remove the piece it jumped
+		board[startRow][startCol] = 0;
+		board[(startRow + newRow) / 2][(startCol + newCol) / 2] = 0;
+		board[newRow][newCol] = 1;
+		BitBoard.clear(pegWords, BitBoard.cell(startRow, startCol));
+		BitBoard.clear(pegWords, BitBoard.cell((startRow + newRow) / 2, (startCol + newCol) / 2));
+		BitBoard.set(pegWords, BitBoard.cell(newRow, newCol));
+
+		// Store information
+		history.add(MoveHistory.encode(startRow, startCol, newRow, newCol));
+		return true;
+	}
+
+	/**
+	 * Undo the last move made
+	 * @return the move that was undone (start row, start column, end row, end column), or null if no moves were made
+	 */
+	public synchronized int[] undoMove()
+	{
+		//If there aren't any moves
+		int packed = history.undo();
+		if (packed == -1)
+			return null;
+
+		// Return board to previous state
+		int[] move = MoveHistory.decode(packed);
+		board[move[0]][move[1]] = 1;
+		board[(move[0] + move[2]) / 2][(move[1] + move[3]) / 2] = 1;
+		board[move[2]][move[3]] = 0;
+		BitBoard.set(pegWords, BitBoard.cell(move[0], move[1]));
+		BitBoard.set(pegWords, BitBoard.cell((move[0] + move[2]) / 2, (move[1] + move[3]) / 2));
+		BitBoard.clear(pegWords, BitBoard.cell(move[2], move[3]));
+		return move;
+	}
+
+	/**
+	 * Makes the last move undone again
+	 * @return the move that was redone (start row, start column, end row, end column), or null if there are none
+	 */
+	public synchronized int[] redoMove()
+	{
+		//If there aren't any moves to redo
+		int packed = history.redo();
+		if (packed == -1)
+			return null;
+
+		// Move the piece and remove the piece it jumped again
+		int[] move = MoveHistory.decode(packed);
+		board[move[0]][move[1]] = 0;
+		board[(move[0] + move[2]) / 2][(move[1] + move[3]) / 2] = 0;
+		board[move[2]][move[3]] = 1;
+		BitBoard.clear(pegWords, BitBoard.cell(move[0], move[1]));
+		BitBoard.clear(pegWords, BitBoard.cell((move[0] + move[2]) / 2, (move[1] + move[3]) / 2));
+		BitBoard.set(pegWords, BitBoard.cell(move[2], move[3]));
+		return move;
+	}
+
+	/**
+	 * Undoes or redoes moves until a given number of moves are made
+	 * @param moveCount the number of moves (from 0 to the number of moves made plus the moves that can be redone)
+	 */
+	public synchronized void jumpToMove(int moveCount)
+	{
+		while (history.size() > moveCount)
+			undoMove();
+		while (history.size() < moveCount && history.size() < history.length())
+			redoMove();
+	}
+
+	/**
+	 * Replays a saved history from the start of this game, keeping its moves that can be redone
+	 * @param saved the moves to replay (e.g. from getHistory)
+	 * @return true if every move was valid, false if the replay stopped at a move that wasn't
+	 */
+	public synchronized boolean replay(MoveHistory saved)
+	{
+		jumpToMove(0);
+		for (int i = 0; i < saved.length(); i++)
+		{
+			int[] move = MoveHistory.decode(saved.getMove(i));
+			if (!makeMove(move[0], move[1], move[2], move[3]))
+				return false;
+		}
+		jumpToMove(saved.size());
+		return true;
+	}
+
+	/**
+	 * Finds the number of pegs on the peg solitaire board
+	 * @return the number of pegs left on the board
+	 */
+	public synchronized int pegsOnBoard()
+	{
+		return BitBoard.bitCount(pegWords);
+	}
+
+	/**
+	 * Checks to see if the player has any possible moves left
+	 * @return true if there are possible moves left, false otherwise
+	 */
+	public synchronized boolean hasMovesLeft()
+	{
+		if (bitBoard.isWide())
+			return bitBoard.hasMoves(pegWords);
+		return bitBoard.hasMoves(pegWords[0]);
+	}
+}
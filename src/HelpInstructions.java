@@ -220,7 +220,7 @@ public class HelpInstructions extends JPanel implements TreeSelectionListener
 		helpFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
 		
 		// Set icon
-		helpFrame.setIconImage(Toolkit.getDefaultToolkit().getImage("Images\\PegSolitaireIcon.gif"));
+		helpFrame.setIconImage(Sprites.get(Sprites.ICON));
 
 		// Add content to the window.
 		helpFrame.add(new HelpInstructions());
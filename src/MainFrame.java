@@ -9,13 +9,14 @@ import java.awt.*;
 import javax.swing.*;
 
 import java.awt.event.*;
+import java.io.*;
 
 @SuppressWarnings("serial")
 public class MainFrame extends JFrame implements ActionListener, WindowListener
 {
 	private PegSolitaireBoard gamePanel;
 	private SidePanel sidePanel;
-	private JMenuItem newOption, exitOption, instructionsOption, aboutOption;
+	private JMenuItem newOption, statisticsOption, exitOption, instructionsOption, aboutOption;
 	private JRadioButtonMenuItem hintOnOption, hintOffOption, waitOption1, waitOption3, waitOption5, waitOption7;
 
 	public MainFrame()
@@ -26,7 +27,7 @@ public class MainFrame extends JFrame implements ActionListener, WindowListener
 		this.addWindowListener(this);
 		
 		// Set icon
-		setIconImage(Toolkit.getDefaultToolkit().getImage("Images\\PegSolitaireIcon.gif"));
+		setIconImage(Sprites.get(Sprites.ICON));
 
 		gamePanel = new PegSolitaireBoard();
 		sidePanel = new SidePanel(gamePanel);
@@ -54,6 +55,10 @@ public class MainFrame extends JFrame implements ActionListener, WindowListener
 		newOption.setMnemonic('N');
 		newOption.addActionListener(this);
 
+		statisticsOption = new JMenuItem("Solver Statistics...");
+		statisticsOption.setMnemonic('S');
+		statisticsOption.addActionListener(this);
+
 		exitOption = new JMenuItem("Exit");
 		exitOption.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_X, InputEvent.CTRL_MASK));
 		exitOption.setMnemonic('X');
@@ -63,6 +68,7 @@ public class MainFrame extends JFrame implements ActionListener, WindowListener
 		JMenu gameMenu = new JMenu("Game");
 		gameMenu.setMnemonic('G');
 		gameMenu.add(newOption);
+		gameMenu.add(statisticsOption);
 		gameMenu.addSeparator();
 		gameMenu.add(exitOption);
 
@@ -152,6 +158,10 @@ public class MainFrame extends JFrame implements ActionListener, WindowListener
 		{
 			gamePanel.newGame();
 		}
+		else if (event.getSource() == statisticsOption) // Selected "Solver Statistics"
+		{
+			showSolverStatistics();
+		}
 		else if (event.getSource() == exitOption) // Selected "Exit"
 		{
 			hide();
@@ -198,6 +208,51 @@ public class MainFrame extends JFrame implements ActionListener, WindowListener
 		}
 	}
 
+	/**
+	 * Shows what the solver did in its last search, with the choice of saving it as a JSON file
+	 */
+	private void showSolverStatistics()
+	{
+		SolverMetrics metrics = gamePanel.getSolverMetrics();
+		if (metrics == null)
+		{
+			JOptionPane.showMessageDialog(this, "The solver hasn't searched yet.\nTurn on hints or show a solution first.",
+					"Solver Statistics", JOptionPane.INFORMATION_MESSAGE);
+			return;
+		}
+		JTextArea text = new JTextArea(metrics.toString());
+		text.setEditable(false);
+		text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+		String[] options = { "Export JSON...", "Close" };
+		int choice = JOptionPane.showOptionDialog(this, text, "Solver Statistics", JOptionPane.DEFAULT_OPTION,
+				JOptionPane.INFORMATION_MESSAGE, null, options, options[1]);
+		if (choice != 0)
+			return;
+
+		JFileChooser chooser = new JFileChooser();
+		chooser.setSelectedFile(new File("solver-metrics.json"));
+		if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+			return;
+		try
+		{
+			Writer out = new FileWriter(chooser.getSelectedFile());
+			try
+			{
+				out.write(metrics.toJson());
+			}
+			finally
+			{
+				out.close();
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+			JOptionPane.showMessageDialog(this, "Couldn't save " + chooser.getSelectedFile().getName() + ".",
+					"Solver Statistics", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
 	// Window Listener methods
 	
 	/**
@@ -241,6 +296,8 @@ public class MainFrame extends JFrame implements ActionListener, WindowListener
 
 	public static void main(String[] args) throws Exception
 	{
+		// Load every image before the game starts
+		Sprites.preload();
 		MainFrame frame = new MainFrame();
 		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		frame.pack();
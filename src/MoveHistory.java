@@ -0,0 +1,159 @@
+/**
+ * The "MoveHistory" class
+ * Keeps the moves of a game, each packed into one int, including the moves that were undone and can be redone
+ * It can be saved with Java serialization (two bytes per move) to replay a game later
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.io.*;
+import java.util.Arrays;
+
+public class MoveHistory implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	// Each move is start location * 256 + end location, where a location is row * 9 + column
+	private transient int[] moves;
+	// The number of moves made, and the number of moves made plus the moves that can be redone
+	private transient int size, length;
+
+	/**
+	 * Constructs a new MoveHistory with no moves
+	 */
+	public MoveHistory()
+	{
+		moves = new int[16];
+	}
+
+	/**
+	 * Constructs a copy of a MoveHistory
+	 * @param history the history to copy
+	 */
+	public MoveHistory(MoveHistory history)
+	{
+		moves = Arrays.copyOf(history.moves, Math.max(16, history.length));
+		size = history.size;
+		length = history.length;
+	}
+
+	/**
+	 * Packs a move into one int
+	 * @param startRow start row of the piece
+	 * @param startCol start column of the piece
+	 * @param endRow end row of the piece
+	 * @param endCol end column of the piece
+	 * @return the move
+	 */
+	public static int encode(int startRow, int startCol, int endRow, int endCol)
+	{
+		return BitBoard.cell(startRow, startCol) << 8 | BitBoard.cell(endRow, endCol);
+	}
+
+	/**
+	 * Unpacks a move
+	 * @param move the move
+	 * @return the start row, start column, end row and end column of the move
+	 */
+	public static int[] decode(int move)
+	{
+		int start = move >>> 8, end = move & 0xFF;
+		return new int[] { BitBoard.row(start), BitBoard.col(start), BitBoard.row(end), BitBoard.col(end) };
+	}
+
+	/**
+	 * Adds a move after the moves made, forgetting the moves that could be redone
+	 * @param move the move
+	 */
+	public void add(int move)
+	{
+		if (size == moves.length)
+			moves = Arrays.copyOf(moves, moves.length * 2);
+		moves[size++] = move;
+		length = size;
+	}
+
+	/**
+	 * Takes back the last move made
+	 * @return the move (-1: no moves were made)
+	 */
+	public int undo()
+	{
+		if (size == 0)
+			return -1;
+		return moves[--size];
+	}
+
+	/**
+	 * Makes the next move that was undone again
+	 * @return the move (-1: there are no moves to redo)
+	 */
+	public int redo()
+	{
+		if (size == length)
+			return -1;
+		return moves[size++];
+	}
+
+	/**
+	 * Gets the number of moves made
+	 * @return the number of moves
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Gets the number of moves made plus the moves that can be redone
+	 * @return the number of moves
+	 */
+	public int length()
+	{
+		return length;
+	}
+
+	/**
+	 * Gets a move
+	 * @param index the number of the move, from 0 (less than length)
+	 * @return the move
+	 */
+	public int getMove(int index)
+	{
+		if (index < 0 || index >= length)
+			throw new IndexOutOfBoundsException("Move " + index + " of " + length);
+		return moves[index];
+	}
+
+	/**
+	 * Writes the history for serialization, two bytes per move
+	 * @param out the stream to write to
+	 * @throws IOException if the stream can't be written
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+		out.writeInt(length);
+		out.writeInt(size);
+		for (int i = 0; i < length; i++)
+			out.writeShort(moves[i]);
+	}
+
+	/**
+	 * Reads a history written by writeObject
+	 * @param in the stream to read from
+	 * @throws IOException if the stream can't be read or isn't a history
+	 * @throws ClassNotFoundException if a class of the stream can't be found
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		length = in.readInt();
+		size = in.readInt();
+		if (length < 0 || size < 0 || size > length)
+			throw new InvalidObjectException("Bad move count");
+		moves = new int[Math.max(16, length)];
+		for (int i = 0; i < length; i++)
+			moves[i] = in.readUnsignedShort();
+	}
+}
@@ -9,6 +9,7 @@ import java.awt.*;
 import javax.swing.*;
 import javax.swing.Timer;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.util.*;
 
 @SuppressWarnings("serial")
@@ -17,25 +18,30 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 	public final Dimension PANEL_SIZE = new Dimension(400, 400);
 	private SidePanel sidePanel;
 	private int boardSetUp, boardType; // 0: Cross, 1: Octagon, 2: Triangle
-	private Image crossBoardImage, octagonBoardImage, triangleBoardImage, pieceImage, highlightImage;
-	private int board[][] = new int [7][7];
-	private ArrayList<Piece> pieceList;
-	private LinkedList<Piece> removedPieceStack;
+	private Image boardImage, pieceImage, highlightImage;
+	private GameState game;
+	// The piece at each board location (null: no piece), always matching the pegs of game
+	private Piece[][] pieces;
+	// The piece jumped by each move, by move number (kept after a move is undone, so it can be redone)
+	private Piece[] removedPieces;
 	private Piece selectedPiece;
 	private Point lastPoint;
 	private boolean hintOn, gameOver, animating;
-	private volatile boolean waiting;
-    private int[][] movesMade = new int[40][4];
-    private int numMoves, animateSpeed;
-    private Timer tDoneWaiting,tAnimate;
+	private boolean waiting;
+    private int animateSpeed;
+    private Timer tAnimate;
     private Point mouseMovePoint;
+    // The board and the pegs that aren't moving, drawn ahead of time, and the scale it was drawn for
+    private BufferedImage boardLayer;
+    private double layerScale;
+    // Set whenever the pegs that aren't moving change, so the board layer is redrawn at the next paint
+    private boolean layerChanged;
+    // The board locations that changed since they were last repainted, one bit per location (row * 9 + column)
+    private long[] dirtyLocations = new long[BitBoard.WORDS];
     
-    private Set<Long> minBoard = new HashSet<Long>();
-    private long startTime;
-    private int[][][] solutionMoves = new int[40][2][2];
-    private int minPegs, startPegs, waitTime, curPiece, curStep;
-    private int[][] holeNumber = new int[7][7];
-    private int[][][] currentMoves = new int[40][2][2];
+    private Solver solver = new Solver();
+    private Solution solution;
+    private int waitTime, curPiece, curStep;
     
 	/**
 	 * Constructs a new PegSolitaireBoard object
@@ -51,23 +57,17 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 		waitTime = 3;
 		animating = false;
 		mouseMovePoint = new Point(0,0);
+		lastPoint = new Point(0,0);
 
 		// Set background and get images
 		setBackground(new Color(190, 118, 52));
-		crossBoardImage = new ImageIcon("Images\\CrossBoard.png").getImage();
-		octagonBoardImage = new ImageIcon("Images\\OctagonBoard.png").getImage();
-		triangleBoardImage = new ImageIcon("Images\\TriangleBoard.png").getImage();
-		pieceImage = new ImageIcon("Images\\Piece.gif").getImage();
-		highlightImage = new ImageIcon("Images\\Highlight.gif").getImage();
+		pieceImage = Sprites.get(Sprites.PIECE);
+		highlightImage = Sprites.get(Sprites.HIGHLIGHT);
 
 		// Add mouse listeners and mouse motion listeners to game board
 		addMouseListener(this);
 		addMouseMotionListener(this);
 		
-		// Set up the StopWaiting timer
-		tDoneWaiting = new Timer(0, new DoneWaiting());
-		tDoneWaiting.setInitialDelay(1);
-		
 		// Set up the Animate timer
 		animateSpeed = 20;
 		tAnimate = new Timer((41 - animateSpeed)*(41 - animateSpeed), new Animating());
@@ -94,204 +94,30 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 		tAnimate.stop();
 		animating = false;
 		
-		if (boardType == 0) // Cross Board
-		{
-			// Create an empty board
-			for (int i = 0; i < 7; i++)
-			{
-				for (int j = 0; j < 7; j++)
-					board[i][j] = 0;
-			}
-			board[0][0] = 2; board[0][1] = 2; board[0][5] = 2; board[0][6] = 2;
-			board[1][0] = 2; board[1][1] = 2; board[1][5] = 2; board[1][6] = 2;
-			board[5][0] = 2; board[5][1] = 2; board[5][5] = 2; board[5][6] = 2;
-			board[6][0] = 2; board[6][1] = 2; board[6][5] = 2; board[6][6] = 2;
-			
-			// Add in board Set Ups
-			if (boardSetUp == 0) // Solitaire
-			{
-				for (int i = 0; i < 7; i++)
-				{
-					for (int j = 0; j < 7; j++)
-						board[i][j] = 1;
-				}
-				board[0][0] = 2; board[0][1] = 2; board[0][5] = 2; board[0][6] = 2;
-				board[1][0] = 2; board[1][1] = 2; board[1][5] = 2; board[1][6] = 2;
-				board[5][0] = 2; board[5][1] = 2; board[5][5] = 2; board[5][6] = 2;
-				board[6][0] = 2; board[6][1] = 2; board[6][5] = 2; board[6][6] = 2;
-				board[3][3] = 0;
-			}
-			else if (boardSetUp == 1) // Cross
-			{
-				board[1][3] = 1;
-				board[2][2] = 1; board[2][3] = 1; board[2][4] = 1;
-				board[3][3] = 1;
-				board[4][3] = 1;
-			}
-			else if (boardSetUp == 2) // Plus
-			{
-				board[1][3] = 1;
-				board[2][3] = 1;
-				board[3][1] = 1; board[3][2] = 1; board[3][3] = 1; board[3][4] = 1; board[3][5] = 1;
-				board[4][3] = 1;
-				board[5][3] = 1;
-			}
-			else if (boardSetUp == 3) // Fireplace
-			{
-				board[0][2] = 1; board[0][3] = 1; board[0][4] = 1;
-				board[1][2] = 1; board[1][3] = 1; board[1][4] = 1;
-				board[2][2] = 1; board[2][3] = 1; board[2][4] = 1;
-				board[3][2] = 1; board[3][4] = 1;
-			}
-			else if (boardSetUp == 4) // Pyramid
-			{
-				board[1][3] = 1;
-				board[2][2] = 1; board[2][3] = 1; board[2][4] = 1;
-				board[3][1] = 1; board[3][2] = 1; board[3][3] = 1; board[3][4] = 1; board[3][5] = 1;
-				board[4][0] = 1; board[4][1] = 1; board[4][2] = 1; board[4][3] = 1; board[4][4] = 1; board[4][5] = 1; board[4][6] = 1;
-			}
-			else if (boardSetUp == 5) // Arrow
-			{
-				board[0][3] = 1;
-				board[1][2] = 1; board[1][3] = 1; board[1][4] = 1;
-				board[2][1] = 1; board[2][2] = 1; board[2][3] = 1; board[2][4] = 1; board[2][5] = 1;
-				board[3][3] = 1;
-				board[4][3] = 1;
-				board[5][2] = 1; board[5][3] = 1; board[5][4] = 1;
-				board[6][2] = 1; board[6][3] = 1; board[6][4] = 1; 
-			}
-			else if (boardSetUp == 6) // Double Arrow
-			{
-				board[0][3] = 1;
-				board[1][2] = 1; board[1][3] = 1; board[1][4] = 1;
-				board[2][1] = 1; board[2][2] = 1; board[2][3] = 1; board[2][4] = 1; board[2][5] = 1;
-				board[3][2] = 1; board[3][3] = 1; board[3][4] = 1;
-				board[4][1] = 1; board[4][2] = 1; board[4][3] = 1; board[4][4] = 1; board[4][5] = 1;
-				board[5][2] = 1; board[5][3] = 1; board[5][4] = 1;
-				board[6][3] = 1;
-			}
-			else if (boardSetUp == 7) // Diamond
-			{
-				board[0][3] = 1;
-				board[1][2] = 1; board[1][3] = 1; board[1][4] = 1;
-				board[2][1] = 1; board[2][2] = 1; board[2][3] = 1; board[2][4] = 1; board[2][5] = 1;
-				board[3][0] = 1; board[3][1] = 1; board[3][2] = 1; board[3][4] = 1; board[3][5] = 1; board[3][6] = 1;
-				board[4][1] = 1; board[4][2] = 1; board[4][3] = 1; board[4][4] = 1; board[4][5] = 1;
-				board[5][2] = 1; board[5][3] = 1; board[5][4] = 1;
-				board[6][3] = 1;
-			}
-		}
+		// Stop any search for the last game
+		cancelSearch();
 		
-		else if (boardType == 1) // Octagon Board
-		{
-			// Create an empty board
-			for (int i = 0; i < 7; i++)
-			{
-				for (int j = 0; j < 7; j++)
-					board[i][j] = 0;
-			}
-			board[0][0] = 2; board[0][1] = 2; board[0][5] = 2; board[0][6] = 2;
-			board[1][0] = 2; board[1][6] = 2;
-			board[5][0] = 2; board[5][6] = 2;
-			board[6][0] = 2; board[6][1] = 2; board[6][5] = 2; board[6][6] = 2;
-			
-			// Add in board Set Ups
-			if (boardSetUp == 0) // Snowflake
-			{
-				board[0][3] = 1;
-				board[1][1] = 1; board[1][3] = 1; board[1][5] = 1;
-				board[2][2] = 1; board[2][3] = 1; board[2][4] = 1;
-				board[3][0] = 1; board[3][1] = 1; board[3][2] = 1; board[3][3] = 1; board[3][4] = 1; board[3][5] = 1; board[3][6] = 1;
-				board[4][2] = 1; board[4][3] = 1; board[4][4] = 1;
-				board[5][1] = 1; board[5][3] = 1; board[5][5] = 1;
-				board[6][3] = 1;
-			}
-			else if (boardSetUp == 1) // X-It
-			{
-				board[1][1] = 1; board[1][2] = 1; board[1][3] = 1; board[1][4] = 1; board[1][5] = 1;
-				board[2][1] = 1; board[2][2] = 1; board[2][4] = 1; board[2][5] = 1;
-				board[3][1] = 1; board[3][3] = 1; board[3][5] = 1;
-				board[4][1] = 1; board[4][2] = 1; board[4][4] = 1; board[4][5] = 1;
-				board[5][1] = 1; board[5][2] = 1; board[5][3] = 1; board[5][4] = 1; board[5][5] = 1;
-			}
-			else if (boardSetUp == 2) // Pinpoint
-			{
-				board[0][3] = 1;
-				board[1][1] = 1; board[1][2] = 1; board[1][4] = 1; board[1][5] = 1;
-				board[2][1] = 1; board[2][5] = 1;
-				board[3][0] = 1; board[3][1] = 1; board[3][3] = 1; board[3][5] = 1; board[3][6] = 1;
-				board[4][1] = 1; board[4][5] = 1;
-				board[5][1] = 1; board[5][2] = 1; board[5][4] = 1; board[5][5] = 1;
-				board[6][3] = 1;
-			}
-		}
-		
-		else if (boardType == 2) // Triangle Board
-		{
-			// Create a full board
-			for (int i = 0; i < 7; i++)
-			{
-				for (int j = 0; j < 7; j++)
-				{
-					if (j <= i && i < 5)
-						board[i][j] = 1;
-					else
-						board[i][j] = 2;
-				}
-			}
-			
-			// Add in board Set Ups
-			if (boardSetUp == 0) // Hole at (2,1)
-			{
-				board[2][1]  = 0;
-			}
-			else if (boardSetUp == 1) // Hole at (0,0)
-			{
-				board[0][0]  = 0;
-			}
-			else if (boardSetUp == 2) // Hole at (1,0)
-			{
-				board[1][0]  = 0;
-			}
-			else if (boardSetUp == 3) // Hole at (2,0)
-			{
-				board[2][0]  = 0;
-			}
-		}
+		game = new GameState(boardType, boardSetUp);
+		layerChanged = true;
 		
-		// Create pieceList
-		pieceList = new ArrayList<Piece>();
-		if (boardType == 0 || boardType == 1) // if Cross or Octagon
-		{
-			for (int i = 0; i < 7; i++)
-			{
-				for (int j = 0; j < 7; j++)
-				{
-					if (board[i][j] == 1)
-						pieceList.add(new Piece(i, j, boardType, this));
-				}
-			}
-		}
-		else if (boardType == 2) // Triangle
+		// Create pieces
+		pieces = new Piece[BitBoard.SIZE][BitBoard.SIZE];
+		for (int i = 0; i < BitBoard.SIZE; i++)
 		{
-			for (int i = 0; i < 5; i++)
+			for (int j = 0; j < BitBoard.SIZE; j++)
 			{
-				for (int j = 0; j < 5; j++)
-				{
-					if (board[i][j] == 1)
-						pieceList.add(new Piece(i, j, boardType, this));
-				}
+				if (game.getPeg(i, j) == 1)
+					pieces[i][j] = new Piece(i, j, boardType, this);
 			}
 		}
+		boardImage = Sprites.get(BoardDefinition.get(boardType).getImage());
 		
 		// Initialize variables
 		gameOver = false;
 		if (sidePanel != null)
 			sidePanel.gameStart();
-		removedPieceStack = new LinkedList<Piece>();
+		removedPieces = new Piece[16];
 		selectedPiece = null;
-		numMoves = -1;
-		minPegs = 99;
 		
 		repaint();
 	}
@@ -303,6 +129,8 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 	public void changeBoardType(int type)
 	{
 		boardType = type;
+		// Set ups are numbered separately for each board, so start from the first one
+		boardSetUp = 0;
 		newGame();
 	}
 	
@@ -330,6 +158,9 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 	public void hintOff()
 	{
 		hintOn = false;
+		// Stop looking for a hint (but not for a solution)
+		if (!waiting)
+			solver.cancel();
 	}
 	
 	/**
@@ -361,6 +192,15 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 		animateSpeed = sliderVal;
 	}
 	
+	/**
+	 * Gets what the solver did in its last search for a hint or a solution
+	 * @return the metrics of the last search (null: nothing has been solved yet)
+	 */
+	public SolverMetrics getSolverMetrics()
+	{
+		return solver.getMetrics();
+	}
+	
 	/**
 	 * Pauses animation because window is minimized
 	 */
@@ -380,148 +220,349 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 	}
 	
 	/**
-	 * Checks if a move is valid given starting position and the proposed new position
-	 * @param startRow start row of a piece
-	 * @param startCol start column of a piece
-	 * @param newRow new row of a piece
-	 * @param newCol new column of a piece
-	 * @return
+	 * Undo the last move made
 	 */
-	private boolean isValidMove(int startRow, int startCol, int newRow, int newCol)
+	public void undoMove()
 	{
-		// Check if the move was valid (current piece jumped into an empty spot with another piece in between
-		if (board[newRow][newCol] == 0 && board[(startRow + newRow) / 2][(startCol + newCol) / 2] == 1)
-		{
-			if (boardType == 0 || boardType == 1) // Cross or Octagon
-			{
-				// Check up, down, left, right directions
-				// Jump is only 2 spaces away
-				if ((Math.abs(startRow - newRow) == 2 && startCol == newCol) ||
-					(Math.abs(startCol - newCol) == 2 && startRow == newRow))
-					return true;
-			}
-			else if (boardType == 2) // Triangle
-			{
-				// Check left, right, diagonal directions
-				// Jump is only 2 spaces away
-				if ((Math.abs(startRow - newRow) == 2 && startCol == newCol) ||
-					(Math.abs(startCol - newCol) == 2 && startRow == newRow) ||
-					Math.abs((startRow - newRow) + (startCol - newCol)) == 4)
-					return true;
-			}
-		}
-		return false;
+		// Return board to previous state
+		int[] move = game.undoMove();
+		//If there aren't any moves
+		if (move == null)
+			return;
+		layerChanged = true;
+		int startRow = move[0];
+		int startCol = move[1];
+		int endRow = move[2];
+		int endCol = move[3];
+		
+		// Set the moved piece back to its old location
+		movePiece(endRow, endCol, startRow, startCol);
+		
+		// Put the jumped piece back (it still knows its location)
+		Piece removed = removedPieces[game.getMoveCount()];
+		pieces[removed.getRow()][removed.getCol()] = removed;
+		
+		if (hintOn)
+			findHint();
+		
+		// Only the three locations of the jump changed
+		markDirty(move);
+		repaintDirty();
 	}
 
 	/**
-	 * Undo the last move made
+	 * Redo the last move undone
 	 */
-	public void undoMove()
+	public void redoMove()
 	{
-		//If there aren't any moves
-		if (numMoves < 0)
+		if (gameOver || waiting)
 			return;
 		
-		// Gets info from array
-		int startRow = movesMade[numMoves][0];
-		int startCol = movesMade[numMoves][1];
-		int endRow = movesMade[numMoves][2];
-		int endCol = movesMade[numMoves][3];
+		// Make the move again
+		int[] move = game.redoMove();
+		//If there aren't any moves to redo
+		if (move == null)
+			return;
+		layerChanged = true;
 		
-		// Return board to previous state
-		board[startRow][startCol] = 1;
-		board[(startRow + endRow) / 2][(startCol + endCol) / 2] = 1;
-		board[endRow][endCol] = 0;
+		// The search for the old position is no longer needed
+		cancelSearch();
+		movePiece(move[0], move[1], move[2], move[3]);
+		removeJumpedPiece(move[0], move[1], move[2], move[3]);
+		markDirty(move);
 		
-		// Find moved piece
-		int movedPieceIdx = -1;
-		for (int i = 0; i < pieceList.size(); i++)
+		if (!game.hasMovesLeft())
+			showGameOver();
+		else if (hintOn)
+			findHint();
+		repaintDirty();
+	}
+
+	/**
+	 * Takes the piece jumped by the last move made off the board, keeping it to put back on undo
+	 * @param startRow start row of the move
+	 * @param startCol start column of the move
+	 * @param newRow end row of the move
+	 * @param newCol end column of the move
+	 */
+	private void removeJumpedPiece(int startRow, int startCol, int newRow, int newCol)
+	{
+		int jumpedRow = (startRow + newRow) / 2, jumpedCol = (startCol + newCol) / 2;
+		int moveNumber = game.getMoveCount() - 1;
+		if (moveNumber == removedPieces.length)
+			removedPieces = Arrays.copyOf(removedPieces, removedPieces.length * 2);
+		removedPieces[moveNumber] = pieces[jumpedRow][jumpedCol];
+		pieces[jumpedRow][jumpedCol] = null;
+	}
+
+	/**
+	 * Ends the game as no moves are left, telling the player if they won
+	 */
+	private void showGameOver()
+	{
+		gameOver = true;
+		sidePanel.gameOver();
+		if (selectedPiece != null)
+			selectedPiece.repaint();
+		repaintDirty();
+		JLabel label;
+		if (game.pegsOnBoard() == 1) // One Peg Left
+			label = new JLabel("You Win!", SwingConstants.CENTER);
+		else // More than more peg remains
+			label = new JLabel("You Lose!", SwingConstants.CENTER);
+		
+		label.setFont(new Font("Forte", Font.PLAIN, 24));
+		JOptionPane.showMessageDialog(this, label, "Game Over", JOptionPane.PLAIN_MESSAGE);
+		setCursor (Cursor.getDefaultCursor ());
+	}
+
+	/**
+	 * Moves a piece to a new location, keeping pieces up to date
+	 * @param fromRow the row the piece is at
+	 * @param fromCol the column the piece is at
+	 * @param toRow the row to move the piece to
+	 * @param toCol the column to move the piece to
+	 */
+	private void movePiece(int fromRow, int fromCol, int toRow, int toCol)
+	{
+		Piece piece = pieces[fromRow][fromCol];
+		pieces[fromRow][fromCol] = null;
+		pieces[toRow][toCol] = piece;
+		piece.setPosition(toRow, toCol);
+	}
+
+	/**
+	 * Marks the three locations of a jump as needing to be repainted
+	 * @param move the start row, start column, end row and end column of the jump
+	 */
+	private void markDirty(int[] move)
+	{
+		markDirty(move[0], move[1]);
+		markDirty((move[0] + move[2]) / 2, (move[1] + move[3]) / 2);
+		markDirty(move[2], move[3]);
+	}
+
+	/**
+	 * Marks a board location as needing to be repainted
+	 * @param row the row of the location
+	 * @param col the column of the location
+	 */
+	private void markDirty(int row, int col)
+	{
+		BitBoard.set(dirtyLocations, BitBoard.cell(row, col));
+	}
+
+	/**
+	 * Repaints only the board locations marked as changed, instead of the whole board
+	 */
+	private void repaintDirty()
+	{
+		for (int word = 0; word < dirtyLocations.length; word++)
 		{
-			if (pieceList.get(i).getRow() == endRow && pieceList.get(i).getCol() == endCol)
+			while (dirtyLocations[word] != 0)
 			{
-				movedPieceIdx = i;
-				break;
+				int cell = word * 64 + Long.numberOfTrailingZeros(dirtyLocations[word]);
+				dirtyLocations[word] &= dirtyLocations[word] - 1;
+				int row = BitBoard.row(cell), col = BitBoard.col(cell);
+				repaint(Piece.centreX(row, col, boardType) - 24, Piece.centreY(row, boardType) - 24, Piece.SIZE,
+						Piece.SIZE);
 			}
 		}
-		pieceList.get(movedPieceIdx).setPosition(startRow, startCol); // Set back to old location
-		
-		pieceList.add(removedPieceStack.pop());
-		numMoves--;
+	}
+
+	/**
+	 * Stops any search that is running and resumes features that were waiting for it
+	 */
+	private void cancelSearch()
+	{
+		solver.cancel();
+		if (waiting)
+			doneWaiting();
+	}
+
+	/**
+	 * Resumes features (e.g. Buttons) as game is done waiting
+	 */
+	private void doneWaiting()
+	{
+		waiting = false;
+		sidePanel.doneWaiting();
 		
-		if (hintOn)
+		// Set the cursor to the hand if on piece, otherwise we just use the default cursor
+		updateCursor();
+	}
+
+	/**
+	 * Sets the cursor to the hand if the mouse is on a piece, otherwise to the default cursor
+	 */
+	private void updateCursor()
+	{
+		int location = Piece.locationAt(mouseMovePoint.x, mouseMovePoint.y, boardType);
+		if (location >= 0 && game.getPeg(BitBoard.row(location), BitBoard.col(location)) == 1)
+			setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+		else
+			setCursor(Cursor.getDefaultCursor());
+	}
+
+	/**
+	 * Starts checking if the board has any solution (one peg), the result is shown in the side panel when it is found
+	 */
+	public void findHint()
+	{
+		// The solution being found is for this position, so its result is shown as the hint when it is found
+		if (waiting)
+		{
+			sidePanel.hintMessage(3);
+			return;
+		}
+		// If the game is the solitaire cross board, there's always a solution in the first three moves
+		if (boardType == 0 && boardSetUp == 0 && game.pegsOnBoard() >= 29)
+		{
+			solver.cancel();
+			sidePanel.hintMessage(1);
+		}
+		else
 		{
 			sidePanel.hintMessage(3);
-			paintImmediately(0, 0, (int) PANEL_SIZE.getWidth(), (int) PANEL_SIZE.getHeight());
-			sidePanel.hintMessage(hasSolution());
+			new SolveWorker(false).execute();
 		}
+	}
+	
+	/**
+	 * Starts finding the solution, it is animated when it is found
+	 */
+	public void animateSolution()
+	{
+		waiting = true;
+		sidePanel.waiting();
+		setCursor (Cursor.getPredefinedCursor (Cursor.WAIT_CURSOR));
 		
-		repaint();
+		new SolveWorker(true).execute();
 	}
 
-	// Inner class for changing waiting status
-	private class DoneWaiting implements ActionListener
+	// Inner class for searching for a solution without blocking the Event Dispatch Thread
+	private class SolveWorker extends SwingWorker<Solution, Integer> implements Solver.Listener
 	{
+		private boolean animate;
+		private int search, time;
+		private BitBoard searchBoard;
+		private long[] pegs;
+
 		/**
-		 * Response to a change in the timer
-		 * @param e the event that called this method
+		 * Constructs a new SolveWorker for the current board, stopping any search that is still running
+		 * @param animate true to animate the solution, false to show a hint
 		 */
-		public void actionPerformed(ActionEvent e)
+		public SolveWorker(boolean animate)
 		{
-			waiting = false;
-			sidePanel.doneWaiting();
-			tDoneWaiting.stop();
-			
-			// Set the cursor to the hand if on piece
-	        for (Piece next: pieceList)
-	        {
-	            if (next.contains (mouseMovePoint))
-	            {
-	                setCursor (Cursor.getPredefinedCursor (Cursor.HAND_CURSOR));
-	                return;
-	            }
-	        }
+			// Copy everything the search needs, since the game can change while it runs
+			this.animate = animate;
+			search = solver.newSearch();
+			searchBoard = game.getBitBoard();
+			time = waitTime;
+			pegs = game.getPegWords();
+		}
+
+		/**
+		 * Runs the search on a background thread
+		 * @return the solution
+		 */
+		protected Solution doInBackground()
+		{
+			return solver.solve(searchBoard, pegs, time, search, this);
+		}
 
-	        // Otherwise we just use the default cursor
-	        setCursor (Cursor.getDefaultCursor ());
+		/**
+		 * Passes a better line found by the search to the Event Dispatch Thread
+		 * @param minPegs the fewest pegs found so far
+		 */
+		public void improved(int minPegs)
+		{
+			publish(minPegs);
+		}
+
+		/**
+		 * Shows the fewest pegs found so far while the search is still running
+		 * @param chunks the fewest pegs found since the last time, the last one is the fewest
+		 */
+		protected void process(java.util.List<Integer> chunks)
+		{
+			// One peg is shown as soon as the search stops, so only show counts that could still improve
+			int minPegs = chunks.get(chunks.size() - 1);
+			if (solver.isLatest(search) && !isDone() && hintOn && !gameOver && minPegs > 1)
+				sidePanel.hintMessage(minPegs, true);
+		}
+
+		/**
+		 * Shows the result on the Event Dispatch Thread
+		 */
+		protected void done()
+		{
+			// Ignore the result if a move, a new game or another search replaced this search (a solution that
+			// is no longer wanted still has to give back the buttons it was waiting with)
+			if (!solver.isLatest(search))
+			{
+				if (animate && waiting)
+					doneWaiting();
+				return;
+			}
+			
+			Solution result;
+			try
+			{
+				result = get();
+			}
+			catch (Exception e)
+			{
+				e.printStackTrace();
+				result = new Solution(-1, new int[0][]);
+			}
+			
+			if (animate)
+			{
+				solution = result;
+				doneWaiting();
+			}
+			
+			if (hintOn && !gameOver)
+			{
+				// If there is a solution to 1 peg
+				if (result.getMinPegs() == 1)
+					sidePanel.hintMessage(1);
+				// If the solution is unknown (takes too long to run), show the best found if there is one
+				else if (!result.isKnown() && result.isFound())
+					sidePanel.hintMessage(result.getMinPegs(), false);
+				else if (!result.isKnown())
+					sidePanel.hintMessage(2);
+				// Otherwise, a minimum number of pegs from this point
+				else
+					sidePanel.hintMessage(0);
+			}
+			
+			if (animate)
+				showSolution();
 		}
 	}
-	
+
 	/**
-	 * Animates the solution
+	 * Shows the solution found by animateSolution, and animates it if the player chooses to
 	 */
-	public void animateSolution()
+	private void showSolution()
 	{
-		setCursor (Cursor.getPredefinedCursor (Cursor.WAIT_CURSOR));
-		
-		//Number of pegs on the board before the solution is found
-		startPegs = pegsOnBoard();
-		//Number of moves in the solution should be startPegs - minPegs
-		
-		minBoard = new HashSet<Long>();
-		minPegs = 99;
-		startTime = System.nanoTime();
-		setHoleNumber(board);
-		
-
-		if (boardType == 0 || boardType == 1) // Cross or Octagon Board
-			findSolution(0);
-		else // Triangular Board
-			findSolutionTri(0);
-
-		sidePanel.setCursor (Cursor.getDefaultCursor ());
-        setCursor (Cursor.getDefaultCursor ());
-		
-		if (minPegs == -1) // Unknown solution
+		if (!solution.isFound()) // Unknown solution
 		{
 			JOptionPane.showMessageDialog(this, "The solution is unknown.", "Find Solution", 
 					JOptionPane.ERROR_MESSAGE);
 		}
 		else 
 		{
+			String message = "The board can be solved to a minimum of " + solution.getMinPegs() + " peg(s).";
+			// Stopped before the best was known, but the moves found so far still work
+			if (!solution.isKnown())
+				message = "The solution is unknown, but the board can be solved to " + solution.getMinPegs() +
+						" peg(s).";
 			// Confirm whether solution should be animated
-			if (JOptionPane.showConfirmDialog(this, "The board can be solved to a minimum of " +
-					minPegs + " peg(s).\n\nWould you like to animate the solution?", "Find Solution",
-					JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION)
+			if (JOptionPane.showConfirmDialog(this, message + "\n\nWould you like to animate the solution?",
+					"Find Solution", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION)
 			{
 				// End game and begin animating.
 				gameOver = true;				
@@ -545,7 +586,7 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 		 */
 		public void actionPerformed(ActionEvent e)
 		{
-			if (curPiece == startPegs - minPegs -1 && curStep == 3) // If Done animating solution
+			if (curPiece == solution.getMoveCount() - 1 && curStep == 3) // If Done animating solution
 			{
 				tAnimate.stop();
 				// animating will become false at the start of a new game
@@ -564,14 +605,9 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 					{
 						// Move pieces for next animation
 						
-						int startRow = solutionMoves[curPiece][0][0];
-						int startCol = solutionMoves[curPiece][0][1];
-						int endRow = solutionMoves[curPiece][1][0];
-						int endCol = solutionMoves[curPiece][1][1];
-						
-						board[startRow][startCol] = 0;
-						board[(startRow + endRow) / 2][(startCol + endCol) / 2] = 0;
-						board[endRow][endCol] = 1;
+						int[] move = solution.getMove(curPiece);
+						game.makeMove(move[0], move[1], move[2], move[3]);
+						layerChanged = true;
 					}
 					
 					// Move to next step
@@ -579,8 +615,9 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 				}
 			}
 			
-			// Update paint
-			paintImmediately(0, 0, (int) PANEL_SIZE.getWidth(), (int) PANEL_SIZE.getHeight());
+			// Update paint, where the current jump and its highlights are
+			markDirty(solution.getMove(curPiece));
+			repaintDirty();
 		}
 	}
 
@@ -591,90 +628,72 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 	public void paintComponent(Graphics g)
 	{
 		super.paintComponent(g);
-		
+
+		// The pegs that aren't moving are drawn on the board layer, which is only redrawn when they change
+		// Draw the layer with as many pixels as the screen has, so it isn't scaled up at high DPI
+		double scale = ((Graphics2D) g).getTransform().getScaleX();
+		if (boardLayer == null || layerChanged || scale != layerScale)
+		{
+			long[] restingPegs = game.getPegWords();
+			if (!animating && selectedPiece != null)
+				BitBoard.clear(restingPegs, BitBoard.cell(selectedPiece.getRow(), selectedPiece.getCol()));
+			drawBoardLayer(restingPegs, scale);
+		}
+		g.drawImage(boardLayer, 0, 0, (int) PANEL_SIZE.getWidth(), (int) PANEL_SIZE.getHeight(), this);
+
 		if (animating == true) // Animating solution
 		{
-			// Draw board
-			if (boardType == 0) // Cross Board
-				g.drawImage(crossBoardImage, 10, 10, this);
-			else if (boardType == 1) // Octagon Board
-				g.drawImage(octagonBoardImage, 10, 10, this);
-			else if (boardType == 2) // Triangle Board
-				g.drawImage(triangleBoardImage, 10, 10, this);
+			// Highlight the current piece
+			int[] move = solution.getMove(curPiece);
+			if (curStep == 1)
+				g.drawImage(highlightImage, Piece.centreX(move[0], move[1], boardType) - 24,
+						Piece.centreY(move[0], boardType) - 24, this);
+			else if (curStep == 2)
+				g.drawImage(highlightImage, Piece.centreX(move[2], move[3], boardType) - 24,
+						Piece.centreY(move[2], boardType) - 24, this);
+		}
+		else if (selectedPiece != null) // Draw the selected piece on top
+			selectedPiece.draw(g);
 
-			if (boardType == 0 || boardType == 1) // Cross or Octagon Board
-			{
-				// Output board
-				for (int row = 0; row < 7; row++)
-				{
-					for (int col = 0; col < 7; col++)
-					{
-						if (board[row][col] == 1) // Piece
-							g.drawImage(pieceImage, 25 + col * 50, 25 + row * 50, this);
-					}
-				}
+	} // paint component method
 
-				// Highlight the current piece
-				int startRow = solutionMoves[curPiece][0][0];
-				int startCol = solutionMoves[curPiece][0][1];
-				int endRow = solutionMoves[curPiece][1][0];
-				int endCol = solutionMoves[curPiece][1][1];
-				
-				if (curStep == 1)
-					g.drawImage(highlightImage, 25 + startCol * 50, 25 + startRow * 50, this);
-				else if (curStep == 2)
-					g.drawImage(highlightImage, 25 + endCol * 50, 25 + endRow * 50, this);
-			}
-			else // Triangular Board
+	/**
+	 * Draws the board and the pegs that aren't moving on the board layer
+	 * @param pegs the pegs to draw
+	 * @param scale the number of screen pixels per pixel of the panel
+	 */
+	private void drawBoardLayer(long[] pegs, double scale)
+	{
+		int width = (int) Math.ceil(PANEL_SIZE.getWidth() * scale);
+		int height = (int) Math.ceil(PANEL_SIZE.getHeight() * scale);
+		if (boardLayer == null || boardLayer.getWidth() != width || boardLayer.getHeight() != height)
+			boardLayer = Sprites.createCompatibleImage(width, height, Transparency.OPAQUE);
+
+		Graphics2D g = boardLayer.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g.scale(scale, scale);
+		g.setColor(getBackground());
+		g.fillRect(0, 0, (int) PANEL_SIZE.getWidth(), (int) PANEL_SIZE.getHeight());
+
+		// Draw board
+		g.drawImage(boardImage, 10, 10, this);
+
+		// Draw pieces
+		for (int word = 0; word < pegs.length; word++)
+		{
+			for (long bits = pegs[word]; bits != 0; bits &= bits - 1)
 			{
-				// Output board
-				for (int row = 0; row < 5; row++)
-				{
-					int startX = (250 - 50 * (row + 1)) / 2;
-					for (int col = 0; col < 5; col++)
-					{
-						if (board[row][col] == 1) // Piece
-							g.drawImage(pieceImage, 25 + 50 + startX + col * 50, 25 + 50 + row * 50, this);
-					}
-				}
-
-				// Highlight the current piece
-				int startRow = solutionMoves[curPiece][0][0];
-				int startCol = solutionMoves[curPiece][0][1];
-				int endRow = solutionMoves[curPiece][1][0];
-				int endCol = solutionMoves[curPiece][1][1];
-				
-				if (curStep == 1)
-				{
-					int startX = (250 - 50 * (startRow + 1)) / 2;
-					g.drawImage(highlightImage, 25 + 50 + startX + startCol * 50, 25 + 50 + startRow * 50, this);
-				}
-				else if (curStep == 2)
-				{
-					int startX = (250 - 50 * (endRow + 1)) / 2;
-					g.drawImage(highlightImage, 25 + 50 + startX + endCol * 50, 25 + 50 + endRow * 50, this);
-				}
+				int cell = word * 64 + Long.numberOfTrailingZeros(bits);
+				int row = BitBoard.row(cell), col = BitBoard.col(cell);
+				g.drawImage(pieceImage, Piece.centreX(row, col, boardType) - 24, Piece.centreY(row, boardType) - 24,
+						this);
 			}
 		}
-		else // Not animating solution
-		{
-			//Draw board
-			if (boardType == 0) // Cross Board
-				g.drawImage(crossBoardImage, 10, 10, this); 
-			else if (boardType == 1) // Octagon Board
-				g.drawImage(octagonBoardImage, 10, 10, this);
-			else if (boardType == 2) // Triangle Board
-				g.drawImage(triangleBoardImage, 10, 10, this);
-			
-			// Draw pieces
-			for (Piece next: pieceList)
-				next.draw(g);
-			// Draw the selected piece last (on top)
-	        if (selectedPiece != null)
-	        	selectedPiece.draw(g);
-		}
+		g.dispose();
 
-	} // paint component method
+		layerScale = scale;
+		layerChanged = false;
+	}
 
 	// Mouse Listener methods
 	
@@ -689,22 +708,20 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 		setFocusable(true);
 		requestFocusInWindow();
 
-		if (gameOver || waiting)
+		if (gameOver)
 		{
 			return;
 		}
 		
-		Point selectedPoint = event.getPoint();
-		// Check if we are selecting one of the pieces
-		for (int i = 0; i < pieceList.size(); i++)
+		// Check if we are selecting one of the pieces, by the board location under the mouse
+		int location = Piece.locationAt(event.getX(), event.getY(), boardType);
+		if (location >= 0 && pieces[BitBoard.row(location)][BitBoard.col(location)] != null)
 		{
-			if (pieceList.get(i).contains(selectedPoint))
-			{
-				selectedPiece = pieceList.get(i);
-				lastPoint = selectedPoint;
-				return;
-			}
-         }
+			selectedPiece = pieces[BitBoard.row(location)][BitBoard.col(location)];
+			lastPoint.setLocation(event.getX(), event.getY());
+			// The piece is drawn on its own while it is dragged
+			layerChanged = true;
+		}
 	}
 	
 	/**
@@ -713,7 +730,7 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 	 */
 	public void mouseReleased(MouseEvent event)
 	{
-		if (gameOver || waiting)
+		if (gameOver)
 		{
 			return;
 		}
@@ -721,6 +738,8 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 		// If a piece was selected, release it
 		if (selectedPiece != null)
         {
+			// Where the piece was dropped
+			selectedPiece.repaint();
 			int startRow = selectedPiece.getRow();
 			int startCol = selectedPiece.getCol();
 			int newRow = selectedPiece.getNewRow();
@@ -732,63 +751,32 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 			else // The dropped location is valid (can snap on to a new location)
 			{
 				// Check if the move was valid
-				if (isValidMove(startRow, startCol, newRow, newCol))
+				if (game.makeMove(startRow, startCol, newRow, newCol))
 				{
-					numMoves++;
+					// The search for the old position is no longer needed
+					cancelSearch();
 					// Change current piece
-					board[startRow][startCol] = 0;
-					board[newRow][newCol] = 1;
-					selectedPiece.setPosition(newRow, newCol); // Set new location
+					movePiece(startRow, startCol, newRow, newCol); // Set new location
 					
 					//Remove Piece
-					board[(startRow + newRow) / 2][(startCol + newCol) / 2] = 0;
-					int removedPieceIdx = -1;
-					for (int i = 0; i < pieceList.size(); i++)
-					{
-						if (pieceList.get(i).getRow() == (startRow + newRow) / 2 && pieceList.get(i).getCol() == (startCol + newCol) / 2)
-						{
-							removedPieceIdx = i;
-							break;
-						}
-					}
-					removedPieceStack.push(pieceList.remove(removedPieceIdx));
-
-					// Store information
-					movesMade[numMoves][0] = startRow;
-					movesMade[numMoves][1] = startCol;
-					movesMade[numMoves][2] = newRow;
-					movesMade[numMoves][3] = newCol;
+					removeJumpedPiece(startRow, startCol, newRow, newCol);
+					markDirty((startRow + newRow) / 2, (startCol + newCol) / 2);
 					
-					if (!hasMovesLeft())
-					{
-						gameOver = true;
-						sidePanel.gameOver();
-						repaint();
-						JLabel label;
-						if (pegsOnBoard() == 1) // One Peg Left
-							label = new JLabel("You Win!", SwingConstants.CENTER);
-						else // More than more peg remains
-							label = new JLabel("You Lose!", SwingConstants.CENTER);
-						
-						label.setFont(new Font("Forte", Font.PLAIN, 24));
-						JOptionPane.showMessageDialog(this, label, "Game Over", JOptionPane.PLAIN_MESSAGE);
-						setCursor (Cursor.getDefaultCursor ());
-					}
+					if (!game.hasMovesLeft())
+						showGameOver();
 					else if (hintOn)
-					{
-						sidePanel.hintMessage(3);
-						setCursor (Cursor.getDefaultCursor ());
-						paintImmediately(0, 0, (int) PANEL_SIZE.getWidth(), (int) PANEL_SIZE.getHeight());
-						sidePanel.hintMessage(hasSolution());
-					}
+						findHint();
 				}
 				else // Move was not Valid
 					selectedPiece.originalPos(); // Return piece to original location
 			}
 
+			// Where the piece ends up
+			selectedPiece.repaint();
 			selectedPiece = null; // De-select piece
+			layerChanged = true;
 		}
-		repaint();
+		repaintDirty();
 	}
 
 	// Un-used mouse listener methods
@@ -813,24 +801,14 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 	 */
 	public void mouseMoved(MouseEvent event)
 	{
-		mouseMovePoint = event.getPoint ();
+		mouseMovePoint.setLocation(event.getX(), event.getY());
 		if (gameOver || waiting)
 		{
 			return;
 		}
 		
-		// Set the cursor to the hand if on piece
-        for (Piece next: pieceList)
-        {
-            if (next.contains (mouseMovePoint))
-            {
-                setCursor (Cursor.getPredefinedCursor (Cursor.HAND_CURSOR));
-                return;
-            }
-        }
-
-        // Otherwise we just use the default cursor
-        setCursor (Cursor.getDefaultCursor ());
+		// Set the cursor to the hand if on piece, otherwise we just use the default cursor
+		updateCursor();
 	}
 	
 	/**
@@ -839,516 +817,21 @@ public class PegSolitaireBoard extends JPanel implements MouseListener, MouseMot
 	 */
 	public void mouseDragged(MouseEvent event)
 	{
-		mouseMovePoint = event.getPoint ();
+		mouseMovePoint.setLocation(event.getX(), event.getY());
 		
-		if (gameOver || waiting)
+		if (gameOver)
 		{
 			return;
 		}
 
-		Point currentPoint = event.getPoint();
-		// If a piece is being selected
+		// If a piece is being selected, move it as far as the mouse moved
 		if (selectedPiece != null)
 		{
-			selectedPiece.move(lastPoint, currentPoint);
-			lastPoint = currentPoint;
-			repaint();
-		}
-	}
-
-	/**
-	 * Finds the number of pegs on the peg solitaire board
-	 * @return the number of pegs left on the board
-	 */
-	private int pegsOnBoard()
-	{
-		int count = 0;
-		// Loops through each position of the board and add to the count of pegs
-		for (int j = 0; j <= 6; j++)
-		{
-			for (int k = 0; k <= 6; k++)
-				if (board[j][k] == 1)
-					count++;
-		}
-		return count;
-	}
-
-	/**
-	 * Assigns a number to each of the holes in the board
-	 * @param board the board that needs to be assigned numbers to
-	 */
-	public void setHoleNumber(int[][] board)
-	{
-		int holeCount = 0;
-		for (int i = 0; i < 7; i++)
-		{
-			for (int i2 = 0; i2 < 7; i2++)
-			{
-				// Loops through the board to search for a hole in the board and assigns it a number, starting from 1
-				if (board[i][i2] == 1 || board[i][i2] == 0)
-				{
-					holeNumber[i][i2] = holeCount;
-					holeCount++;
-				}
-			}
-		}
-	}
-
-	/**
-	 * Converts a board to an integer representation
-	 * @return an integer representation of the board, which is based on which holes have a peg and which don't
-	 */
-	private long boardToInt()
-	{
-		long boardValue = 0;
-		for (int i = 0; i <= 6; i++)
-		{
-			for (int i2 = 0; i2 <= 6; i2++)
-			{
-				if (board[i][i2] == 1)
-				{
-					// Each hole on the board represents a digit for a binary number, the 1's place represents the first
-					// hole, the 2's place represents the second hole, the 4's place represents the third hole and so
-					// on. If there's a peg, then the digit it 1, if there isn't a peg the digit is 2, and the integer
-					// representation of the board is the decimal value of this binary number.
-					boardValue += Math.pow(2, holeNumber[i][i2]);
-				}
-			}
-		}
-		return boardValue;
-	}
-
-	/**
-	 * Checks to see if the player has any possible moves left
-	 * @return true if there are possible moves left, false otherwise
-	 */
-	private boolean hasMovesLeft()
-	{
-		int[][] modify = new int[6][2];
-		modify[0][0] = 0;
-		modify[0][1] = 2;
-		modify[1][0] = 0;
-		modify[1][1] = -2;
-		modify[2][0] = 2;
-		modify[2][1] = 0;
-		modify[3][0] = -2;
-		modify[3][1] = 0;
-		modify[4][0] = 2;
-		modify[4][1] = 2;
-		modify[5][0] = -2;
-		modify[5][1] = -2;
-		int upTo = 4;
-		if (boardType == 2)
-			upTo = 6;
-		// Loops and checks each position with a peg and check if it's possible for that peg to jump
-		for (int row = 0; row <= 6; row++)
-		{
-			for (int col = 0; col <= 6; col++)
-			{
-				if (board[row][col] == 1)
-				{
-					for (int i = 0; i < upTo; i++)
-					{
-						if (row + modify[i][0] >= 0 && row + modify[i][0] < 7 && col + modify[i][1] >= 0
-								&& col + modify[i][1] < 7)
-						{
-							if (isValidMove(row, col, row + modify[i][0], col + modify[i][1]))
-								return true;
-						}
-					}
-				}
-			}
-		}
-		return false;
-	}
-
-	/**
-	 * Checks if the board has any solution (one peg)
-	 * @return true if the board has a solution, false otherwise
-	 */
-	public int hasSolution()
-	{
-		waiting = true;
-		sidePanel.waiting();
-		setCursor (Cursor.getPredefinedCursor (Cursor.WAIT_CURSOR));
-		
-		// If the game is the solitaire cross board, there's always a solution in the first three moves
-		if (boardType == 0 && boardSetUp == 0 && pegsOnBoard() >= 29)
-			minPegs = 1;
-		else
-		{
-			// Initialize variables, including starting the "timer" and setting the hole numbers
-			minBoard = new HashSet<Long>();
-			minPegs = 99;
-			startTime = System.nanoTime();
-			setHoleNumber(board);
-			
-			// Finds a solution
-			if (boardType == 2)
-				findSolutionTri(0);
-			else
-				findSolution(0);
-		}
-		
-		tDoneWaiting.start();
-		
-		// If there is a solution to 1 peg
-		if (minPegs == 1)
-			return 1;
-		// If the solution is unknown (takes too long to run)
-		else if (minPegs == -1)
-			return 2;
-		// Otherwise, a minimum number of pegs from this point
-		else
-			return 0;
-	}
-
-	/**
-	 * Finds a solution for a non-triangular board (the minimum number of pegs remaining on the board)
-	 * @param move the current move number of the "solution"
-	 */
-	private void findSolution(int move)
-	{
-		long temp = boardToInt();
-		// If the method's been running to long, solution is "unknown"
-		if ((System.nanoTime() - startTime) / 1000000000.0 > waitTime)
-		{
-			minPegs = -1;
-			return;
-		}
-		// If the current position of the board hasn't be reached
-		if (!(minBoard.contains(temp)) && minPegs > 1)
-		{
-			// Add the integer representation of this board to the set of boards visited
-			minBoard.add(temp);
-			// If there are only two pegs remaining, make it so that the last peg is in the middle spot
-			if (pegsOnBoard() == 2)
-			{
-				if (board[3][3] == 0)
-				{
-					if (board[1][3] == 1 && board[2][3] == 1)
-					{
-						board[1][3] = 0;
-						board[2][3] = 0;
-						board[3][3] = 1;
-						currentMoves[move][0][0] = 1;
-						currentMoves[move][0][1] = 3;
-						currentMoves[move][1][0] = 3;
-						currentMoves[move][1][1] = 3;
-						findSolution(move + 1);
-						board[1][3] = 1;
-						board[2][3] = 1;
-						board[3][3] = 0;
-					}
-					else if (board[5][3] == 1 && board[4][3] == 1)
-					{
-						board[5][3] = 0;
-						board[4][3] = 0;
-						board[3][3] = 1;
-						currentMoves[move][0][0] = 5;
-						currentMoves[move][0][1] = 3;
-						currentMoves[move][1][0] = 3;
-						currentMoves[move][1][1] = 3;
-						findSolution(move + 1);
-						board[5][3] = 1;
-						board[4][3] = 1;
-						board[3][3] = 0;
-					}
-					else if (board[3][1] == 1 && board[3][2] == 1)
-					{
-						board[3][1] = 0;
-						board[3][2] = 0;
-						board[3][3] = 1;
-						currentMoves[move][0][0] = 3;
-						currentMoves[move][0][1] = 1;
-						currentMoves[move][1][0] = 3;
-						currentMoves[move][1][1] = 3;
-						findSolution(move + 1);
-						board[3][1] = 1;
-						board[3][2] = 1;
-						board[3][3] = 0;
-					}
-					else if (board[3][5] == 1 && board[3][4] == 1)
-					{
-						board[3][5] = 0;
-						board[3][4] = 0;
-						board[3][3] = 1;
-						currentMoves[move][0][0] = 3;
-						currentMoves[move][0][1] = 5;
-						currentMoves[move][1][0] = 3;
-						currentMoves[move][1][1] = 3;
-						findSolution(move + 1);
-						board[3][5] = 1;
-						board[3][4] = 1;
-						board[3][3] = 0;
-					}
-				}
-			}
-			for (int curx = 0; curx <= 6; curx++)
-			{
-				for (int cury = 0; cury <= 6; cury++)
-				{
-					// Loop through the board positions for where there's a peg, and at this location, and use
-					// depth-first search through all possible moves
-					if (board[curx][cury] == 1)
-					{
-
-						// Checks if the peg can move left
-						if (cury - 2 >= 0 && board[curx][cury - 1] == 1 && board[curx][cury - 2] == 0
-								&& board[curx][cury - 2] != 2)
-						{
-							// Change the board values
-							board[curx][cury] = 0;
-							board[curx][cury - 1] = 0;
-							board[curx][cury - 2] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx;
-								currentMoves[move][1][1] = cury - 2;
-							}
-							findSolution(move + 1);
-							board[curx][cury] = 1;
-							board[curx][cury - 1] = 1;
-							board[curx][cury - 2] = 0;
-						}
-						// Checks if the peg can move downwards
-						if (curx + 2 <= 6 && board[curx + 1][cury] == 1 && board[curx + 2][cury] == 0
-								&& board[curx + 2][cury] != 2)
-						{
-							board[curx][cury] = 0;
-							board[curx + 1][cury] = 0;
-							board[curx + 2][cury] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx + 2;
-								currentMoves[move][1][1] = cury;
-							}
-							findSolution(move + 1);
-							board[curx][cury] = 1;
-							board[curx + 1][cury] = 1;
-							board[curx + 2][cury] = 0;
-						}
-						// Checks if the peg can move upwards
-						if (curx - 2 >= 0 && board[curx - 1][cury] == 1 && board[curx - 2][cury] == 0
-								&& board[curx - 2][cury] != 2)
-						{
-							board[curx][cury] = 0;
-							board[curx - 1][cury] = 0;
-							board[curx - 2][cury] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx - 2;
-								currentMoves[move][1][1] = cury;
-							}
-							findSolution(move + 1);
-							board[curx][cury] = 1;
-							board[curx - 1][cury] = 1;
-							board[curx - 2][cury] = 0;
-						}
-						// Checks if the peg can move right
-						if (cury + 2 <= 6 && board[curx][cury + 1] == 1 && board[curx][cury + 2] == 0
-								&& board[curx][cury + 2] != 2)
-						{
-							board[curx][cury] = 0;
-							board[curx][cury + 1] = 0;
-							board[curx][cury + 2] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx;
-								currentMoves[move][1][1] = cury + 2;
-							}
-							findSolution(move + 1);
-							board[curx][cury] = 1;
-							board[curx][cury + 1] = 1;
-							board[curx][cury + 2] = 0;
-						}
-					}
-				}
-			}
-			// Checks the number of pegs on the board and if it's less than the overall minimum, set the overall minimum
-			// to the current
-			int tmp = pegsOnBoard();
-			if (tmp < minPegs)
-			{
-				minPegs = tmp;
-				// Updating the moves it takes to reach this current minimum
-				for (int i = 0; i < move; i++)
-				{
-					solutionMoves[i][0][0] = currentMoves[i][0][0];
-					solutionMoves[i][0][1] = currentMoves[i][0][1];
-					solutionMoves[i][1][0] = currentMoves[i][1][0];
-					solutionMoves[i][1][1] = currentMoves[i][1][1];
-				}
-			}
-		}
-	}
-
-	/**
-	 * Finds a solution for a triangular board (the minimum number of pegs remaining on the board)
-	 * @param move the current move number of the "solution"
-	 */
-	private void findSolutionTri(int move)
-	{
-		long temp = boardToInt();
-		// If the method's been running to long, solution is "unknown"
-		if ((System.nanoTime() - startTime) / 1000000000.0 > 3)
-		{
-			minPegs = -1;
-			return;
-		}
-		// If the current position of the board hasn't be reached
-		if (!(minBoard.contains(temp)) && minPegs > 1)
-		{
-			// Add the integer representation of this board to the set of boards visited
-			minBoard.add(temp);
-			for (int curx = 0; curx < 5; curx++)
-			{
-				for (int cury = 0; cury <= curx; cury++)
-				{
-					// Loop through the board positions for where there's a peg, and at this location, and use
-					// depth-first search through all possible moves
-					if (board[curx][cury] == 1)
-					{
-						// Checks if the peg can move left
-						if (cury - 2 >= 0 && board[curx][cury - 1] == 1 && board[curx][cury - 2] == 0
-								&& board[curx][cury - 2] != 2)
-						{
-							board[curx][cury] = 0;
-							board[curx][cury - 1] = 0;
-							board[curx][cury - 2] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx;
-								currentMoves[move][1][1] = cury - 2;
-							}
-							findSolutionTri(move + 1);
-							board[curx][cury] = 1;
-							board[curx][cury - 1] = 1;
-							board[curx][cury - 2] = 0;
-						}
-						// Checks if the peg can move right
-						if (cury + 2 <= 5 && board[curx][cury + 1] == 1 && board[curx][cury + 2] == 0
-								&& board[curx][cury + 2] != 2)
-						{
-							board[curx][cury] = 0;
-							board[curx][cury + 1] = 0;
-							board[curx][cury + 2] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx;
-								currentMoves[move][1][1] = cury + 2;
-							}
-							findSolutionTri(move + 1);
-							board[curx][cury] = 1;
-							board[curx][cury + 1] = 1;
-							board[curx][cury + 2] = 0;
-						}
-						// Checks if the peg can move diagonally up and left
-						if (curx - 2 >= 0 && board[curx - 1][cury] == 1 && board[curx - 2][cury] == 0
-								&& board[curx - 2][cury] != 2)
-						{
-							board[curx][cury] = 0;
-							board[curx - 1][cury] = 0;
-							board[curx - 2][cury] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx - 2;
-								currentMoves[move][1][1] = cury;
-							}
-							findSolutionTri(move + 1);
-							board[curx][cury] = 1;
-							board[curx - 1][cury] = 1;
-							board[curx - 2][cury] = 0;
-						}
-						// Checks if the peg can move diagonally down and right
-						if (curx + 2 <= 5 && board[curx + 1][cury] == 1 && board[curx + 2][cury] == 0
-								&& board[curx + 2][cury] != 2)
-						{
-							board[curx][cury] = 0;
-							board[curx + 1][cury] = 0;
-							board[curx + 2][cury] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx + 2;
-								currentMoves[move][1][1] = cury;
-							}
-							findSolutionTri(move + 1);
-							board[curx][cury] = 1;
-							board[curx + 1][cury] = 1;
-							board[curx + 2][cury] = 0;
-						}
-						// Checks if the peg can move diagonally up and right
-						if (curx - 2 >= 0 && cury - 2 >= 0 && board[curx - 1][cury - 1] == 1
-								&& board[curx - 2][cury - 2] == 0 && board[curx - 2][cury - 2] != 2)
-						{
-							board[curx][cury] = 0;
-							board[curx - 1][cury - 1] = 0;
-							board[curx - 2][cury - 2] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx - 2;
-								currentMoves[move][1][1] = cury - 2;
-							}
-							findSolutionTri(move + 1);
-							board[curx][cury] = 1;
-							board[curx - 1][cury - 1] = 1;
-							board[curx - 2][cury - 2] = 0;
-						}
-						// Checks if the peg can move diagonally down and left
-						if (curx + 2 <= 5 && cury + 2 <= 5 && board[curx + 1][cury + 1] == 1
-								&& board[curx + 2][cury + 2] == 0 && board[curx + 2][cury + 2] != 2)
-						{
-							board[curx][cury] = 0;
-							board[curx + 1][cury + 1] = 0;
-							board[curx + 2][cury + 2] = 1;
-							if (minPegs != 1)
-							{
-								currentMoves[move][0][0] = curx;
-								currentMoves[move][0][1] = cury;
-								currentMoves[move][1][0] = curx + 2;
-								currentMoves[move][1][1] = cury + 2;
-							}
-							findSolutionTri(move + 1);
-							board[curx][cury] = 1;
-							board[curx + 1][cury + 1] = 1;
-							board[curx + 2][cury + 2] = 0;
-						}
-					}
-				}
-			}
-			// Checks the number of pegs on the board and if it's less than the overall minimum, set the overall minimum
-			// to the current
-			int tmp = pegsOnBoard();
-			if (tmp < minPegs)
-			{
-				minPegs = tmp;
-				// Updating the moves it takes to reach this current minimum
-				for (int i = 0; i < move; i++)
-				{
-					solutionMoves[i][0][0] = currentMoves[i][0][0];
-					solutionMoves[i][0][1] = currentMoves[i][0][1];
-					solutionMoves[i][1][0] = currentMoves[i][1][0];
-					solutionMoves[i][1][1] = currentMoves[i][1][1];
-				}
-			}
+			// Repaint only where the piece was and where it is now
+			selectedPiece.repaint();
+			selectedPiece.move(event.getX() - lastPoint.x, event.getY() - lastPoint.y);
+			lastPoint.setLocation(event.getX(), event.getY());
+			selectedPiece.repaint();
 		}
 	}
-}
+}
\ No newline at end of file
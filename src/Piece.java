@@ -6,15 +6,17 @@
  */
 
 import java.awt.*;
-import javax.swing.ImageIcon;
 
 public class Piece
 {
 	private Point centre;
 	private int row, col, boardType, newCol;
 	private PegSolitaireBoard gamePanel;
-	private final int RADIUS = 20;
-	private Image pieceImage = new ImageIcon("Images\\Piece.gif").getImage();
+	private static final int RADIUS = 20;
+	// The width and height of a Piece's image, which is drawn with its centre 24 pixels in from the top left
+	public static final int SIZE = 50;
+	// Shared by every Piece
+	private static Image pieceImage = Sprites.get(Sprites.PIECE);
 
 	/**
 	 * Create a Piece object with given row, column, board type and PegSolitaireBoard
@@ -30,34 +32,64 @@ public class Piece
 		this.boardType = boardType;
 		this.gamePanel = gameBoard;
 		// Find centre of Piece depending on boardType
-		if (this.boardType == 0 || boardType == 1) // Cross or Octagon
-			centre = new Point(25 + col * 50 + 24, 25 + row * 50 + 24);
-		else if (this.boardType == 2) // Triangle
-		{
-			int startX = (250 - 50 * (row + 1)) / 2;
-			centre = new Point(25 + 50 + startX + col * 50 + 24, 25 + 50 + row * 50 + 24);
-		}
+		centre = new Point(centreX(row, col, boardType), centreY(row, boardType));
+	}
+
+	/**
+	 * Gets the x coordinate of the centre of a board location
+	 * @param row the row of the location
+	 * @param col the column of the location
+	 * @param boardType the type of board
+	 * @return the x coordinate (in pixels)
+	 */
+	public static int centreX(int row, int col, int boardType)
+	{
+		return BoardDefinition.get(boardType).centreX(row, col);
 	}
 
 	/**
-	 * Move the position of a Piece from a given point to another given point
-	 * @param from the position to move from
-	 * @param to the position to move to
+	 * Gets the y coordinate of the centre of a board location
+	 * @param row the row of the location
+	 * @param boardType the type of board
+	 * @return the y coordinate (in pixels)
+	 */
+	public static int centreY(int row, int boardType)
+	{
+		return BoardDefinition.get(boardType).centreY(row);
+	}
+
+	/**
+	 * Finds the board location a pixel is on, if it's close enough to be on a Piece there
+	 * @param x the x coordinate of the pixel
+	 * @param y the y coordinate of the pixel
+	 * @param boardType the type of board
+	 * @return the location as row * 9 + column (-1: not on any location)
 	 */
-	public void move(Point from, Point to)
+	public static int locationAt(int x, int y, int boardType)
 	{
-		centre = new Point(centre.x - from.x + to.x, centre.y - from.y + to.y);
+		return BoardDefinition.get(boardType).locationAt(x, y, RADIUS);
 	}
 
 	/**
-	 * Check if a given Point is contained within a Piece
-	 * @param p the point to check
+	 * Moves a Piece by a given distance
+	 * @param dx the distance to move across (in pixels)
+	 * @param dy the distance to move down (in pixels)
+	 */
+	public void move(int dx, int dy)
+	{
+		centre.translate(dx, dy);
+	}
+
+	/**
+	 * Check if a given point is contained within a Piece
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
 	 * @return true if the point is within a piece false otherwise
 	 */
-	public boolean contains(Point p)
+	public boolean contains(int x, int y)
 	{
-		int distance = (int) Math.sqrt(Math.pow(p.x - centre.x, 2) + Math.pow(p.y - centre.y, 2));
-		return distance <= RADIUS;
+		int dx = x - centre.x, dy = y - centre.y;
+		return dx * dx + dy * dy < (RADIUS + 1) * (RADIUS + 1);
 	}
 
 	/**
@@ -84,48 +116,17 @@ public class Piece
 	 */
 	public int getNewRow()
 	{
-		if (this.boardType == 0 || boardType == 1) // Cross or Octagon
+		// Check if the centre of this Piece is close enough to snap on to a board location
+		BoardDefinition definition = BoardDefinition.get(boardType);
+		int location = definition.locationAt(centre.x, centre.y, definition.getSnap());
+		if (location < 0)
 		{
-			for (int i = 0; i < 7; i++)
-			{
-				for (int j = 0; j < 7; j++)
-				{
-					// Check if the centre of this Piece is close enough to snap
-					// on to a board location (within 20 pixels)
-					int checkX = 25 + j * 50 + 24;
-					int checkY = 25 + i * 50 + 24;
-					int distance = (int) Math.sqrt(Math.pow(checkX - centre.x, 2) + Math.pow(checkY - centre.y, 2));
-					if (distance <= 20)
-					{
-						newCol = j;
-						return i;
-					}	
-				}
-			}
+			// No valid board spot found
+			newCol = -1;
+			return -1;
 		}
-		else if (this.boardType == 2) // Triangle
-		{
-			for (int i = 0; i < 5; i++)
-			{
-				for (int j = 0; j < 5; j++)
-				{
-					// Check if the centre of this Piece is close enough to snap
-					// on to a board location (within 10 pixels)
-					int startX = (250 - 50 * (i + 1)) / 2;
-					int checkX = 25 + 50 + startX + j * 50 + 24;
-					int checkY = 25 + 50 + i * 50 + 24;
-					int distance = (int) Math.sqrt(Math.pow(checkX - centre.x, 2) + Math.pow(checkY - centre.y, 2));
-					if (distance <= 10)
-					{
-						newCol = j;
-						return i;
-					}	
-				}
-			}
-		}
-		// No valid board spot found
-		newCol = -1;
-		return -1;
+		newCol = BitBoard.col(location);
+		return BitBoard.row(location);
 	}
 
 	/**
@@ -143,13 +144,7 @@ public class Piece
 	 */
 	public void originalPos()
 	{
-		if (this.boardType == 0 || boardType == 1) // Cross or Octagon
-			centre = new Point(25 + col * 50 + 24, 25 + row * 50 + 24);
-		else if (this.boardType == 2) // Triangle
-		{
-			int startX = (250 - 50 * (row + 1)) / 2;
-			centre = new Point(25 + 50 + startX + col * 50 + 24, 25 + 50 + row * 50 + 24);
-		}
+		centre.setLocation(centreX(row, col, boardType), centreY(row, boardType));
 	}
 
 	/**
@@ -161,13 +156,7 @@ public class Piece
 	{
 		this.row = row;
 		this.col = col;
-		if (this.boardType == 0 || boardType == 1) // Cross or Octagon
-			centre = new Point(25 + col * 50 + 24, 25 + row * 50 + 24);
-		else if (this.boardType == 2) // Triangle
-		{
-			int startX = (250 - 50 * (row + 1)) / 2;
-			centre = new Point(25 + 50 + startX + col * 50 + 24, 25 + 50 + row * 50 + 24);
-		}
+		originalPos();
 	}
 
 	/**
@@ -176,6 +165,16 @@ public class Piece
 	 */
 	public void draw(Graphics g)
 	{
-		g.drawImage(pieceImage, centre.x - 24, centre.y - 24, gamePanel);
+		// Only draw the Piece if it is in the area being repainted
+		if (g.hitClip(centre.x - 24, centre.y - 24, SIZE, SIZE))
+			g.drawImage(pieceImage, centre.x - 24, centre.y - 24, gamePanel);
+	}
+
+	/**
+	 * Asks for the area the Piece is drawn in to be repainted
+	 */
+	public void repaint()
+	{
+		gamePanel.repaint(centre.x - 24, centre.y - 24, SIZE, SIZE);
 	}
 }
@@ -0,0 +1,285 @@
+/**
+ * The "Pruning" class
+ * Proves that a position can't be reduced to one peg without searching it, using two kinds of rules that no jump can
+ * break: the position class (the number of pegs on every third diagonal changes parity together on every jump, so
+ * a position can only finish on holes of its own class), and pagoda functions (hole weights where the pegs of a jump
+ * always weigh at least as much as the peg they leave, so the total weight of a position never goes up)
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class Pruning
+{
+	// The rule that proved a position can't reach one peg
+	public static final int NONE = 0;
+	public static final int POSITION_CLASS = 1;
+	public static final int PAGODA = 2;
+
+	private BitBoard bitBoard;
+	// For each family of diagonals that every jump crosses, the holes of each of its three classes (as the longs of a
+	// wide board, and as a single long for boards that fit in one)
+	private long[][][] classMaskWords;
+	private long[][] classMasks;
+	// For each position class, the holes where a single peg has that class (the same two ways)
+	private long[][] classTargetWords;
+	private long[] classTargets;
+	// For each pagoda function, the weight of each row's pegs (indexed by the row's bits) and, for each position class,
+	// the least a position must weigh to finish on one of the class's holes
+	private int[][][] pagodaRows;
+	private int[][] pagodaTargets;
+
+	/**
+	 * Constructs a new Pruning with the pagoda functions given for the type of a board in the boards file (each is also
+	 * used rotated and reflected)
+	 * @param board the holes and jumps of the board
+	 */
+	public Pruning(BitBoard board)
+	{
+		this(board, BoardDefinition.get(board.getBoardType()).getPagodas());
+	}
+
+	/**
+	 * Constructs a new Pruning with given pagoda functions
+	 * @param board the holes and jumps of the board
+	 * @param pagodas the weight of each hole for each pagoda function, by row and column (functions that a jump could
+	 *            increase prove nothing, so they are left out)
+	 */
+	public Pruning(BitBoard board, int[][][] pagodas)
+	{
+		bitBoard = board;
+
+		// Each family numbers the diagonals 0, 1, 2, 0, 1, 2... and is only an invariant if a jump always covers three
+		// different numbers (so each of the three counts changes by one)
+		ArrayList<long[][]> families = new ArrayList<long[][]>();
+		for (int family = 0; family < 2; family++)
+		{
+			long[][] masks = new long[3][BitBoard.WORDS];
+			for (int cell = 0; cell < BitBoard.SIZE * BitBoard.SIZE; cell++)
+			{
+				if (board.isHole(BitBoard.row(cell), BitBoard.col(cell)))
+					BitBoard.set(masks[diagonal(family, cell)], cell);
+			}
+			boolean invariant = true;
+			for (int d = 0; d < board.directions(); d++)
+			{
+				for (int from = 0; from < BitBoard.SIZE * BitBoard.SIZE; from++)
+				{
+					if (board.canJump(from, d))
+					{
+						int over = from + board.shift(d), to = over + board.shift(d);
+						if (diagonal(family, from) == diagonal(family, over) || diagonal(family, over) == diagonal(family, to)
+								|| diagonal(family, from) == diagonal(family, to))
+							invariant = false;
+					}
+				}
+			}
+			if (invariant)
+				families.add(masks);
+		}
+		classMaskWords = families.toArray(new long[families.size()][][]);
+		classMasks = new long[classMaskWords.length][3];
+		for (int family = 0; family < classMasks.length; family++)
+		{
+			for (int c = 0; c < 3; c++)
+				classMasks[family][c] = classMaskWords[family][c][0];
+		}
+
+		classTargetWords = new long[1 << 2 * classMasks.length][BitBoard.WORDS];
+		classTargets = new long[classTargetWords.length];
+		for (int hole = 0; hole < board.holeCount(); hole++)
+		{
+			long[] peg = new long[BitBoard.WORDS];
+			BitBoard.set(peg, board.holeCell(hole));
+			BitBoard.set(classTargetWords[positionClass(peg)], board.holeCell(hole));
+		}
+		for (int c = 0; c < classTargets.length; c++)
+			classTargets[c] = classTargetWords[c][0];
+
+		// Use every rotation and reflection of each valid pagoda function, once each
+		ArrayList<int[]> weights = new ArrayList<int[]>();
+		for (int i = 0; i < pagodas.length; i++)
+		{
+			for (int s = 0; s < board.symmetries(); s++)
+			{
+				int[] weight = new int[BitBoard.SIZE * BitBoard.SIZE];
+				for (int cell = 0; cell < weight.length; cell++)
+				{
+					if (board.isHole(BitBoard.row(cell), BitBoard.col(cell)))
+						weight[board.symmetryCell(s, cell)] = pagodas[i][BitBoard.row(cell)][BitBoard.col(cell)];
+				}
+				boolean seen = false;
+				for (int j = 0; j < weights.size() && !seen; j++)
+					seen = Arrays.equals(weights.get(j), weight);
+				if (!seen && isPagoda(weight))
+					weights.add(weight);
+			}
+		}
+
+		pagodaRows = new int[weights.size()][board.rows()][1 << BitBoard.SIZE];
+		pagodaTargets = new int[weights.size()][classTargets.length];
+		for (int i = 0; i < weights.size(); i++)
+		{
+			int[] weight = weights.get(i);
+			for (int row = 0; row < board.rows(); row++)
+			{
+				for (int bits = 0; bits < 1 << BitBoard.SIZE; bits++)
+				{
+					for (int col = 0; col < BitBoard.SIZE; col++)
+					{
+						if ((bits >>> col & 1) != 0)
+							pagodaRows[i][row][bits] += weight[BitBoard.cell(row, col)];
+					}
+				}
+			}
+			for (int c = 0; c < classTargets.length; c++)
+			{
+				pagodaTargets[i][c] = Integer.MAX_VALUE;
+				for (int hole = 0; hole < board.holeCount(); hole++)
+				{
+					if (BitBoard.isSet(classTargetWords[c], board.holeCell(hole)))
+						pagodaTargets[i][c] = Math.min(pagodaTargets[i][c], weight[board.holeCell(hole)]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the diagonal number of a hole
+	 * @param family 0 for the diagonals going up to the right, 1 for the diagonals going down to the right
+	 * @param cell the bit number of the hole
+	 * @return the diagonal number (0, 1 or 2)
+	 */
+	private static int diagonal(int family, int cell)
+	{
+		if (family == 0)
+			return (BitBoard.row(cell) + BitBoard.col(cell)) % 3;
+		return (BitBoard.row(cell) - BitBoard.col(cell) + BitBoard.SIZE * 3) % 3;
+	}
+
+	/**
+	 * Checks if no jump can increase the total weight of a position
+	 * @param weight the weight of each hole
+	 * @return true if the weights are a pagoda function, false otherwise
+	 */
+	private boolean isPagoda(int[] weight)
+	{
+		for (int d = 0; d < bitBoard.directions(); d++)
+		{
+			for (int from = 0; from < weight.length; from++)
+			{
+				if (bitBoard.canJump(from, d))
+				{
+					int over = from + bitBoard.shift(d), to = over + bitBoard.shift(d);
+					if (weight[from] + weight[over] < weight[to])
+						return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the position class of a position, which no jump changes
+	 * @param pegs the bit representation of the position
+	 * @return the class, made of whether each pair of neighbouring diagonal counts have different parity
+	 */
+	public int positionClass(long pegs)
+	{
+		int positionClass = 0;
+		for (int family = 0; family < classMasks.length; family++)
+		{
+			int count0 = Long.bitCount(pegs & classMasks[family][0]) & 1;
+			int count1 = Long.bitCount(pegs & classMasks[family][1]) & 1;
+			int count2 = Long.bitCount(pegs & classMasks[family][2]) & 1;
+			positionClass |= ((count0 ^ count1) | (count1 ^ count2) << 1) << 2 * family;
+		}
+		return positionClass;
+	}
+
+	/**
+	 * Finds the position class of a position on a board of any size
+	 * @param pegs the position as longs
+	 * @return the class, made of whether each pair of neighbouring diagonal counts have different parity
+	 */
+	public int positionClass(long[] pegs)
+	{
+		int positionClass = 0;
+		for (int family = 0; family < classMaskWords.length; family++)
+		{
+			int[] counts = new int[3];
+			for (int c = 0; c < 3; c++)
+			{
+				for (int word = 0; word < BitBoard.WORDS; word++)
+					counts[c] += Long.bitCount(pegs[word] & classMaskWords[family][c][word]);
+			}
+			positionClass |= ((counts[0] ^ counts[1]) & 1 | ((counts[1] ^ counts[2]) & 1) << 1) << 2 * family;
+		}
+		return positionClass;
+	}
+
+	/**
+	 * Gets the holes a position could finish on with one peg, by its class alone
+	 * @param pegs the bit representation of the position
+	 * @return a long with one bit set for every hole of the position's class
+	 */
+	public long targets(long pegs)
+	{
+		return classTargets[positionClass(pegs)];
+	}
+
+	/**
+	 * Tries to prove that a position can't be reduced to one peg
+	 * @param pegs the bit representation of the position
+	 * @return the rule that proved it (NONE: the position may be able to reach one peg)
+	 */
+	public int prune(long pegs)
+	{
+		int positionClass = positionClass(pegs);
+		if (classTargets[positionClass] == 0)
+			return POSITION_CLASS;
+		for (int i = 0; i < pagodaRows.length; i++)
+		{
+			int[][] rows = pagodaRows[i];
+			int total = 0;
+			for (int row = 0; row < rows.length; row++)
+				total += rows[row][(int) (pegs >>> row * BitBoard.SIZE) & ((1 << BitBoard.SIZE) - 1)];
+			if (total < pagodaTargets[i][positionClass])
+				return PAGODA;
+		}
+		return NONE;
+	}
+
+	/**
+	 * Tries to prove that a position on a board of any size can't be reduced to one peg
+	 * @param pegs the position as longs
+	 * @return the rule that proved it (NONE: the position may be able to reach one peg)
+	 */
+	public int prune(long[] pegs)
+	{
+		int positionClass = positionClass(pegs);
+		if (BitBoard.bitCount(classTargetWords[positionClass]) == 0)
+			return POSITION_CLASS;
+		for (int i = 0; i < pagodaRows.length; i++)
+		{
+			int[][] rows = pagodaRows[i];
+			int total = 0;
+			for (int row = 0; row < rows.length; row++)
+				total += rows[row][BitBoard.rowBits(pegs, row)];
+			if (total < pagodaTargets[i][positionClass])
+				return PAGODA;
+		}
+		return NONE;
+	}
+
+	/**
+	 * Gets the number of pagoda functions in use, counting each rotation and reflection
+	 * @return the number of pagoda functions
+	 */
+	public int getPagodaCount()
+	{
+		return pagodaRows.length;
+	}
+}
@@ -19,14 +19,12 @@ import java.util.Hashtable;
 public class SidePanel extends JPanel implements ActionListener, ItemListener
 {
 	public final Dimension PANEL_SIZE = new Dimension(170, 400);
+	// The area of the hint message line (its baseline is at 170)
+	private static final int STATUS_TOP = 150, STATUS_HEIGHT = 28;
 	private PegSolitaireBoard gamePanel;
 	Choice typeChoice, setUpChoice;
-	JButton undoButton, solutionButton;
+	JButton undoButton, redoButton, solutionButton;
 	private int boardSetUp, boardType; // 0: Cross, 1: Octagon, 2: Triangle
-	private String[] crossSetUp = new String[] { "Solitaire", "Cross", "Plus", "Fireplace", "Pyramid", "Arrow",
-			"Double Arrow", "Diamond" };
-	private String[] octagonSetUp = new String[] { "Snowflake", "X-It", "Pinpoint" };
-	private String[] triangleSetUp = new String[] { "Hole at (2,1)", "Hole at (0,0)", "Hole at (1,0)", "Hole at (2,0)" };
 	private boolean hintOn, gameOver, waiting, paused;
 	private String hintMessage;
 	private int waitTime;
@@ -54,27 +52,30 @@ public class SidePanel extends JPanel implements ActionListener, ItemListener
 
 		// Choice list for Board Type
 		typeChoice = new Choice();
-		typeChoice.add("Cross");
-		typeChoice.add("Octagon");
-		typeChoice.add("Triangle");
+		for (int type = 0; type < BoardDefinition.count(); type++)
+			typeChoice.add(BoardDefinition.get(type).getName());
 		typeChoice.setBounds(10, 10, 150, 40);
 		this.add(typeChoice);
 		typeChoice.addItemListener(this);
 
 		// Choice list for board set up
 		setUpChoice = new Choice();
-		for (String next : crossSetUp)
-			setUpChoice.add(next);
+		addSetUps();
 		setUpChoice.setBounds(10, 50, 150, 40);
 		this.add(setUpChoice);
 		setUpChoice.addItemListener(this);
 
 		// Add Buttons
-		undoButton = new JButton("Undo Move");
-		undoButton.setBounds(10, 190, 150, 40); 
+		undoButton = new JButton("Undo");
+		undoButton.setBounds(10, 190, 72, 40); 
 		this.add(undoButton);
 		undoButton.addActionListener(this);
 
+		redoButton = new JButton("Redo");
+		redoButton.setBounds(88, 190, 72, 40); 
+		this.add(redoButton);
+		redoButton.addActionListener(this);
+
 		solutionButton = new JButton("Find Solution");
 		solutionButton.setBounds(10, 240, 150, 40);
 		this.add(solutionButton);
@@ -130,11 +131,7 @@ public class SidePanel extends JPanel implements ActionListener, ItemListener
 		if (gameOver)
 			hintMessage = "Game Over";
 		else
-		{
-			hintMessage = "Waiting...";
-			paintImmediately(0, 0, (int) PANEL_SIZE.getWidth(), (int) PANEL_SIZE.getHeight());
-			hintMessage(gamePanel.hasSolution());
-		}
+			gamePanel.findHint();
 		repaint();
 	}
 	
@@ -182,11 +179,7 @@ public class SidePanel extends JPanel implements ActionListener, ItemListener
 	{
 		gameOver = false;
 		if (hintOn)
-		{
-			hintMessage = "Waiting...";
-			paintImmediately(0, 0, (int) PANEL_SIZE.getWidth(), (int) PANEL_SIZE.getHeight());
-			hintMessage(gamePanel.hasSolution());
-		}
+			gamePanel.findHint();
 		repaint();
 	}
 	
@@ -216,9 +209,42 @@ public class SidePanel extends JPanel implements ActionListener, ItemListener
 		else if (messageType == 3)
 			hintMessage = "Waiting...";
 
-		paintImmediately(0, 0, (int) PANEL_SIZE.getWidth(), (int) PANEL_SIZE.getHeight());
+		repaintStatus();
+	}
+
+	/**
+	 * Changes the hint message to the fewest pegs found by a search
+	 * @param minPegs the fewest pegs found
+	 * @param searching true if the search is still running, false if it stopped before finishing
+	 */
+	public void hintMessage(int minPegs, boolean searching)
+	{
+		if (searching)
+			hintMessage = "Best so far " + minPegs;
+		else
+			hintMessage = "Unknown, best " + minPegs;
+
+		repaintStatus();
+	}
+
+	/**
+	 * Repaints only the line the hint message is on
+	 */
+	private void repaintStatus()
+	{
+		repaint(0, STATUS_TOP, (int) PANEL_SIZE.getWidth(), STATUS_HEIGHT);
 	}
 	
+	/**
+	 * Adds the names of the set ups of the current board type to the set up choice list
+	 */
+	private void addSetUps()
+	{
+		BoardDefinition definition = BoardDefinition.get(boardType);
+		for (int setUp = 0; setUp < definition.getSetUpCount(); setUp++)
+			setUpChoice.add(definition.getSetUpName(setUp));
+	}
+
 	/**
 	 * Response to a change in one of the choice lists
 	 * @param event the event that called this method
@@ -227,43 +253,14 @@ public class SidePanel extends JPanel implements ActionListener, ItemListener
 	{
 		if (event.getItemSelectable() == typeChoice)
 		{
-			if (typeChoice.getSelectedIndex() == 0) // Cross board type
-			{
-				// Change board
-				boardType = 0;
-				boardSetUp = 0;
-				gamePanel.changeBoardType(boardType);
-				gamePanel.changeBoardSetUp(boardSetUp);
-				//Update Choice list
-				setUpChoice.removeAll();
-				for (String next : crossSetUp)
-					setUpChoice.add(next);
-			}
-			else if (typeChoice.getSelectedIndex() == 1) // Octagon board type
-			{
-				// Change board
-				boardType = 1;
-				boardSetUp = 0;
-				gamePanel.changeBoardType(boardType);
-				gamePanel.changeBoardSetUp(boardSetUp);
-				//Update Choice list
-				setUpChoice.removeAll();
-				for (String next : octagonSetUp)
-					setUpChoice.add(next);
-			}
-			else if (typeChoice.getSelectedIndex() == 2) // Triangle board type
-			{
-				// Change board
-				boardType = 2;
-				boardSetUp = 0;
-				gamePanel.changeBoardType(boardType);
-				gamePanel.changeBoardSetUp(boardSetUp);
-				//Update Choice list
-				setUpChoice.removeAll();
-				for (String next : triangleSetUp)
-					setUpChoice.add(next);
-				
-			}
+			// Change board
+			boardType = typeChoice.getSelectedIndex();
+			boardSetUp = 0;
+			gamePanel.changeBoardType(boardType);
+			gamePanel.changeBoardSetUp(boardSetUp);
+			//Update Choice list
+			setUpChoice.removeAll();
+			addSetUps();
 			repaint();
 		}
 		else if (event.getItemSelectable() == setUpChoice)
@@ -296,6 +293,13 @@ public class SidePanel extends JPanel implements ActionListener, ItemListener
 			
 			gamePanel.undoMove();
 		}
+		else if (event.getSource() == redoButton)
+		{
+			if (gameOver || waiting)
+				return;
+			
+			gamePanel.redoMove();
+		}
 		repaint();
 	}
 
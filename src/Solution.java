@@ -0,0 +1,83 @@
+/**
+ * The "Solution" class
+ * The result of solving a position: the minimum number of pegs it can be reduced to and the moves to get there
+ * A search that was stopped early still gives the fewest pegs it found, which the position can do at least as well as
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+public class Solution
+{
+	private int minPegs;
+	private int[][] moves;
+	private boolean known;
+
+	/**
+	 * Constructs a new Solution
+	 * @param minPegs the minimum number of pegs (-1: unknown)
+	 * @param moves the moves to reach minPegs, each one start row, start column, end row, end column
+	 */
+	public Solution(int minPegs, int[][] moves)
+	{
+		this(minPegs, moves, minPegs != -1);
+	}
+
+	/**
+	 * Constructs a new Solution
+	 * @param minPegs the fewest pegs found (-1: none found)
+	 * @param moves the moves to reach minPegs, each one start row, start column, end row, end column
+	 * @param known true if minPegs is the minimum, false if the search stopped before it could tell
+	 */
+	public Solution(int minPegs, int[][] moves, boolean known)
+	{
+		this.minPegs = minPegs;
+		this.moves = moves;
+		this.known = known && minPegs != -1;
+	}
+
+	/**
+	 * Checks if the minimum number of pegs was found
+	 * @return true if it was found, false if the search took too long or was cancelled
+	 */
+	public boolean isKnown()
+	{
+		return known;
+	}
+
+	/**
+	 * Checks if any line of moves was found, even if the search stopped before it knew the line was the best
+	 * @return true if getMinPegs is at least an upper bound, false if nothing was found
+	 */
+	public boolean isFound()
+	{
+		return minPegs != -1;
+	}
+
+	/**
+	 * Gets the minimum number of pegs (or, if it isn't known, the fewest pegs found)
+	 * @return the minimum number of pegs (-1: nothing found)
+	 */
+	public int getMinPegs()
+	{
+		return minPegs;
+	}
+
+	/**
+	 * Gets the number of moves of the solution
+	 * @return the number of moves
+	 */
+	public int getMoveCount()
+	{
+		return moves.length;
+	}
+
+	/**
+	 * Gets a move of the solution
+	 * @param move the move number (starting at 0)
+	 * @return the start row, start column, end row and end column of the move
+	 */
+	public int[] getMove(int move)
+	{
+		return moves[move].clone();
+	}
+}
@@ -0,0 +1,296 @@
+/**
+ * The "SolveCache" class
+ * Remembers solved positions between games in a file for each board, so a position solved before is answered without
+ * searching: each record is a position (as it looks on the canonical board), the minimum number of pegs it can reach
+ * and its best move. The file is only ever added to, is read through a memory mapping on a background thread when
+ * the board is first used, and new records are written on a background thread through a file channel kept open
+ * Records still waiting to be written when the program exits are written before it stops
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+public class SolveCache
+{
+	// The file starts with the holes of the board and the code of its jump directions, then every record is the position and its packed information
+	private static final int HEADER_BYTES = 16;
+	private static final int RECORD_BYTES = 16;
+	// Records are checked against this so a record cut short or from a different file version is skipped
+	private static final int CHECK = 0x50534301;
+
+	// One cache per board (by the name of its file), shared by every solver
+	private static HashMap<String, SolveCache> caches = new HashMap<String, SolveCache>();
+	private static ExecutorService writer;
+
+	private File file;
+	// Adds records to the end of the file (null: not opened yet, only used on the cache's thread)
+	private FileChannel out;
+	private ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+	private long holes;
+	private int jumpCode;
+	// Open addressing hash table from position to its packed information (0: empty slot)
+	private long[] positions;
+	private int[] info;
+	private int size;
+
+	/**
+	 * Constructs a new SolveCache with no positions
+	 * @param file the file the records are kept in
+	 * @param holes the holes of the board
+	 * @param jumpCode the code of the board's jump directions (BitBoard.getJumpCode)
+	 */
+	private SolveCache(File file, long holes, int jumpCode)
+	{
+		this.file = file;
+		this.holes = holes;
+		this.jumpCode = jumpCode;
+		positions = new long[1024];
+		info = new int[positions.length];
+	}
+
+	/**
+	 * Gets the cache for a board, starting to read its file in the background the first time
+	 * @param folder the folder the cache files are kept in
+	 * @param board the holes and jumps of the board
+	 * @return the cache (positions in the file are found once it has been read)
+	 */
+	public static synchronized SolveCache forBoard(File folder, BitBoard board)
+	{
+		// Boards with the same holes but different jumps get different files
+		String name = Long.toHexString(board.getHoles()) + "-" + Integer.toHexString(board.getJumpCode()) + ".cache";
+		SolveCache cache = caches.get(name);
+		if (cache == null)
+		{
+			cache = new SolveCache(new File(folder, name), board.getHoles(), board.getJumpCode());
+			caches.put(name, cache);
+			final SolveCache loading = cache;
+			writer().execute(new Runnable()
+			{
+				public void run()
+				{
+					loading.load();
+				}
+			});
+		}
+		return cache;
+	}
+
+	/**
+	 * Gets the thread that reads and writes the files, making it the first time
+	 * @return the thread's executor
+	 */
+	private static ExecutorService writer()
+	{
+		if (writer == null)
+		{
+			writer = Executors.newSingleThreadExecutor(new ThreadFactory()
+			{
+				public Thread newThread(Runnable runnable)
+				{
+					Thread thread = new Thread(runnable, "Solve cache");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			// Finish writing every record already found when the program exits, then close the files
+			Runtime.getRuntime().addShutdownHook(new Thread()
+			{
+				public void run()
+				{
+					synchronized (SolveCache.class)
+					{
+						writer.shutdown();
+					}
+					try
+					{
+						writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+					}
+					catch (InterruptedException e)
+					{
+					}
+					synchronized (SolveCache.class)
+					{
+						for (SolveCache cache : caches.values())
+							cache.close();
+					}
+				}
+			});
+		}
+		return writer;
+	}
+
+	/**
+	 * Reads every record of the file into memory (on the cache's thread)
+	 */
+	private void load()
+	{
+		if (!file.isFile())
+			return;
+		try
+		{
+			RandomAccessFile in = new RandomAccessFile(file, "r");
+			try
+			{
+				MappedByteBuffer buffer = in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length());
+				if (buffer.capacity() < HEADER_BYTES || buffer.getLong(0) != holes || buffer.getLong(8) != jumpCode)
+					return;
+				// A record only partly written when the program stopped is left out
+				for (int record = HEADER_BYTES; record + RECORD_BYTES <= buffer.capacity(); record += RECORD_BYTES)
+				{
+					if (buffer.getInt(record + 12) == CHECK)
+						add(buffer.getLong(record), buffer.getInt(record + 8));
+				}
+			}
+			finally
+			{
+				in.close();
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Adds a position to the table in memory
+	 * @param pegs the position on the canonical board
+	 * @param data the packed minimum number of pegs and best move
+	 */
+	private synchronized void add(long pegs, int data)
+	{
+		if (size * 2 >= positions.length)
+		{
+			long[] oldPositions = positions;
+			int[] oldInfo = info;
+			positions = new long[oldPositions.length * 2];
+			info = new int[positions.length];
+			size = 0;
+			for (int i = 0; i < oldPositions.length; i++)
+			{
+				if (oldPositions[i] != 0)
+					add(oldPositions[i], oldInfo[i]);
+			}
+		}
+		int slot = slot(pegs);
+		if (positions[slot] == 0)
+			size++;
+		positions[slot] = pegs;
+		info[slot] = data;
+	}
+
+	/**
+	 * Finds the slot a position is in, or the empty slot it would go in
+	 * @param pegs the position
+	 * @return the slot
+	 */
+	private int slot(long pegs)
+	{
+		long hash = pegs * 0x9E3779B97F4A7C15L;
+		int mask = positions.length - 1;
+		int slot = (int) (hash >>> 32) & mask;
+		while (positions[slot] != 0 && positions[slot] != pegs)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	/**
+	 * Looks up a position
+	 * @param pegs the position on the canonical board
+	 * @return the minimum number of pegs, bit number of the jumping peg * 8 and jump direction packed as
+	 *         best | (from * 8 + direction) << 8, or -1 if the position isn't in the cache
+	 */
+	public synchronized int get(long pegs)
+	{
+		int slot = slot(pegs);
+		if (positions[slot] == 0)
+			return -1;
+		return info[slot];
+	}
+
+	/**
+	 * Adds a solved position, writing it to the file in the background
+	 * @param pegs the position on the canonical board
+	 * @param best the minimum number of pegs the position can reach
+	 * @param move the best move on the canonical board (from * 8 + direction)
+	 */
+	public void put(final long pegs, int best, int move)
+	{
+		final int data = best | move << 8;
+		if (get(pegs) == data)
+			return;
+		add(pegs, data);
+		synchronized (SolveCache.class)
+		{
+			// The program is exiting: the position is only kept in memory
+			if (writer().isShutdown())
+				return;
+			writer().execute(new Runnable()
+			{
+				public void run()
+				{
+					write(pegs, data);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Adds a record to the end of the file (on the cache's thread), opening the file the first time
+	 * @param pegs the position on the canonical board
+	 * @param data the packed minimum number of pegs and best move
+	 */
+	private void write(long pegs, int data)
+	{
+		try
+		{
+			if (out == null)
+			{
+				file.getParentFile().mkdirs();
+				out = new FileOutputStream(file, true).getChannel();
+				if (out.size() == 0)
+				{
+					ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+					header.putLong(holes).putLong(jumpCode).flip();
+					while (header.hasRemaining())
+						out.write(header);
+				}
+			}
+			record.clear();
+			record.putLong(pegs).putInt(data).putInt(CHECK).flip();
+			while (record.hasRemaining())
+				out.write(record);
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Closes the file, once every record has been written
+	 */
+	private void close()
+	{
+		if (out == null)
+			return;
+		try
+		{
+			out.close();
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+		out = null;
+	}
+}
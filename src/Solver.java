@@ -0,0 +1,1358 @@
+/**
+ * The "Solver" class
+ * Finds the minimum number of pegs a Peg Solitaire position can be reduced to, and the moves to get there
+ * Boards that fit in one long are searched on every processor with the endgame databases and the cache, wide boards
+ * (BitBoard.isWide) are searched on one thread with their positions as several longs
+ * Between searches of the same board, only the transposition table and the searches stopped before finishing are
+ * kept: a stopped search carries on only when the very position it was solving is solved again
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class Solver
+{
+	// In parallel mode, every move of the first few moves becomes its own task
+	private static final int SPLIT_DEPTH = 3;
+	// The clock is read once every this many positions (plus one)
+	private static final int CHECK_NODES = 1023;
+	// The number of stopped searches kept to carry on with
+	private static final int PAUSED_SEARCHES = 8;
+
+	private TranspositionTable minBoard;
+	private BitBoard bitBoard;
+	private int megabytes, centre, waitTime, searchId;
+	private volatile int latestSearch;
+	private volatile boolean timedOut;
+	private long startTime;
+	// The fewest pegs found so far followed by the moves to reach them (each move is from * 8 + direction)
+	private AtomicReference<int[]> bestLine = new AtomicReference<int[]>();
+	// What the last search did, added up by every thread when it stops (null: nothing has been solved)
+	private volatile SolverMetrics metrics;
+	// Searches of boards that fit in one long stopped before finishing, by the position solved, so solving the same
+	// position again (after an undo, or asking again) carries on where its search stopped instead of starting over
+	// (the positions after a move start a search of their own, helped only by the transposition table)
+	@SuppressWarnings("serial")
+	private LinkedHashMap<Long, PausedSearch> pausedSearches = new LinkedHashMap<Long, PausedSearch>(16, 0.75f, true)
+	{
+		protected boolean removeEldestEntry(Map.Entry<Long, PausedSearch> eldest)
+		{
+			return size() > PAUSED_SEARCHES;
+		}
+	};
+	// The depth-first searches of the running solve that were stopped, by the position each started from (the
+	// position solved, or in parallel the position of each task that searches on its own)
+	private ConcurrentHashMap<Long, Search> stoppedSearches;
+	private boolean parallel;
+	private ForkJoinPool pool;
+	// Told whenever the running search finds fewer pegs (null: no one to tell)
+	private volatile Listener listener;
+	// The endgame databases that were found, and the one for the board being searched (null: none)
+	private EndgameDatabase[] endgameDatabases;
+	private EndgameDatabase endgames;
+	// The rules that prove positions of the board being searched can't reach one peg
+	private Pruning pruning;
+	// Positions of the board being searched that were solved before, kept between games in the Cache folder
+	private SolveCache cache;
+	private boolean caching = true;
+	// The fewest pegs the position being searched could possibly reach (2 if it can be proved it can't reach one)
+	private int goal;
+	// Every position of the Triangle board, solved the first time a Triangle board is searched
+	private TriangleTable triangleTable;
+
+	/**
+	 * Constructs a new Solver with a 32 megabyte transposition table
+	 */
+	public Solver()
+	{
+		this(32);
+	}
+
+	/**
+	 * Constructs a new Solver, searching in parallel if there is more than one processor
+	 * The endgame databases in the Endgames folder are mapped into memory here so searches never wait for them
+	 * @param megabytes the memory budget of the transposition table (in megabytes)
+	 */
+	public Solver(int megabytes)
+	{
+		this.megabytes = megabytes;
+		minBoard = new TranspositionTable(megabytes);
+		setParallel(Runtime.getRuntime().availableProcessors() > 1);
+		endgameDatabases = new EndgameDatabase[BoardDefinition.count()];
+		for (int boardType = 0; boardType < endgameDatabases.length; boardType++)
+			endgameDatabases[boardType] = EndgameDatabase.load(new File("Endgames", BoardDefinition.get(boardType)
+					.getName() + ".bits"), boardType);
+	}
+
+	/**
+	 * Chooses whether to split the search across all processors
+	 * @param parallel true to search in parallel, false to search on the calling thread only
+	 */
+	public synchronized void setParallel(boolean parallel)
+	{
+		this.parallel = parallel;
+		if (parallel && pool == null)
+			pool = new ForkJoinPool();
+	}
+
+	/**
+	 * Chooses whether to answer positions solved before (in this or an earlier game) from the cache
+	 * @param caching true to use and add to the cache, false to always search
+	 */
+	public synchronized void setCaching(boolean caching)
+	{
+		this.caching = caching;
+	}
+
+	/**
+	 * Forgets every position solved so far, so the next search starts from nothing (the cache is kept)
+	 */
+	public synchronized void clear()
+	{
+		minBoard.clear();
+		pausedSearches.clear();
+	}
+
+	/**
+	 * Gets the number of positions searched by the last search (including before it stopped, if it carried on)
+	 * @return the number of positions
+	 */
+	public long getNodes()
+	{
+		SolverMetrics metrics = this.metrics;
+		return metrics == null ? 0 : metrics.getNodes();
+	}
+
+	/**
+	 * Gets the number of positions the last search skipped because a rule proved they couldn't reach one peg
+	 * @param rule the rule (Pruning.POSITION_CLASS or Pruning.PAGODA)
+	 * @return the number of positions
+	 */
+	public long getPruned(int rule)
+	{
+		SolverMetrics metrics = this.metrics;
+		return metrics == null ? 0 : metrics.getPruned(rule);
+	}
+
+	/**
+	 * Gets what the last search did: the positions it searched, its table hits, the positions it pruned and how long
+	 * it took to find its lines (including before it stopped, if it carried on)
+	 * @return the metrics of the last search (null: nothing has been solved)
+	 */
+	public SolverMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Starts counting a new search
+	 * @param board the holes and jumps of the board
+	 * @param pegCount the number of pegs in the position searched
+	 * @param source where the result comes from (SolverMetrics.SEARCH, CACHE or TABLE)
+	 * @return the metrics of the new search
+	 */
+	private SolverMetrics newMetrics(BitBoard board, int pegCount, String source)
+	{
+		metrics = new SolverMetrics(BoardDefinition.get(board.getBoardType()).getName(), pegCount, board.holeCount(),
+				source);
+		return metrics;
+	}
+
+	/**
+	 * Starts a new search, stopping any search that is still running
+	 * (only called from the Event Dispatch Thread)
+	 * @return the number to pass to solve for the new search
+	 */
+	public int newSearch()
+	{
+		latestSearch++;
+		return latestSearch;
+	}
+
+	/**
+	 * Stops the search that is running (if any)
+	 */
+	public void cancel()
+	{
+		latestSearch++;
+	}
+
+	/**
+	 * Checks if a search is still the latest one started
+	 * @param search the number returned by newSearch
+	 * @return true if no search has been started or cancelled since, false otherwise
+	 */
+	public boolean isLatest(int search)
+	{
+		return latestSearch == search;
+	}
+
+	/**
+	 * Finds the minimum number of pegs the current position of a game can be reduced to
+	 * Unlike newSearch, this never stops another search: from several threads, each search waits for the one before
+	 * @param game the game, whose position is copied when the search starts
+	 * @param time the maximum time to search (in seconds)
+	 * @return the solution (unknown if it took too long or cancel was called)
+	 */
+	public Solution solve(GameState game, int time)
+	{
+		BitBoard board;
+		long[] pegs;
+		synchronized (game)
+		{
+			board = game.getBitBoard();
+			pegs = game.getPegWords();
+		}
+		return solve(board, pegs, time, latestSearch, null);
+	}
+
+	/**
+	 * Finds the minimum number of pegs a position on a board of any size can be reduced to, telling a listener about
+	 * each better line found on the way
+	 * Boards that fit in one long are searched as one, so they lose nothing by being passed this way
+	 * @param board the holes and jumps of the board
+	 * @param pegs the position as BitBoard.WORDS longs
+	 * @param time the maximum time to search (in seconds)
+	 * @param search the number returned by newSearch for this search
+	 * @param listener told about each better line found while searching (null: no one to tell)
+	 * @return the solution (if it took too long or was cancelled, the fewest pegs found but not known to be the minimum)
+	 */
+	public Solution solve(BitBoard board, long[] pegs, int time, int search, Listener listener)
+	{
+		if (!board.isWide())
+			return solve(board, pegs[0], time, search, listener);
+		return solveWide(board, pegs, time, search, listener);
+	}
+
+	/**
+	 * Finds the minimum number of pegs a position can be reduced to
+	 * Only one search runs at a time; a search waits here until the one it replaced has stopped
+	 * @param board the holes and jumps of the board
+	 * @param pegs the bit representation of the position
+	 * @param time the maximum time to search (in seconds)
+	 * @param search the number returned by newSearch for this search
+	 * @return the solution (unknown if it took too long or was cancelled)
+	 */
+	public Solution solve(BitBoard board, long pegs, int time, int search)
+	{
+		return solve(board, pegs, time, search, null);
+	}
+
+	/**
+	 * Finds the minimum number of pegs a position can be reduced to, telling a listener about each better line found
+	 * on the way, so there is something to show long before the search finishes
+	 * @param board the holes and jumps of the board
+	 * @param pegs the bit representation of the position
+	 * @param time the maximum time to search (in seconds)
+	 * @param search the number returned by newSearch for this search
+	 * @param listener told about each better line found while searching (null: no one to tell)
+	 * @return the solution (if it took too long or was cancelled, the fewest pegs found but not known to be the minimum)
+	 */
+	public synchronized Solution solve(BitBoard board, long pegs, int time, int search, Listener listener)
+	{
+		// Small boards like the Triangle have few enough positions to look every one up instead of searching
+		if (board.holeCount() <= TriangleTable.MAX_HOLES && !board.isWide())
+		{
+			if (triangleTable == null || !triangleTable.isFor(board))
+				triangleTable = new TriangleTable(board);
+			long start = System.nanoTime();
+			int[] line = triangleTable.solution(pegs);
+			SolverMetrics tableMetrics = newMetrics(board, Long.bitCount(pegs), SolverMetrics.TABLE);
+			tableMetrics.lineFound(line[0], System.nanoTime() - start);
+			tableMetrics.addTime(System.nanoTime() - start);
+			tableMetrics.setResult(line[0], true);
+			return toSolution(board, line);
+		}
+
+		setBoard(board);
+		waitTime = time;
+		searchId = search;
+
+		// A search of the same position that was stopped carries on from where it was
+		PausedSearch paused = pausedSearches.remove(pegs);
+		boolean resume = paused != null;
+
+		// Initialize variables, including starting the "timer" (a search that carries on keeps what it found)
+		if (resume)
+		{
+			bestLine.set(paused.line);
+			metrics = paused.metrics;
+			stoppedSearches = paused.searches;
+			// The tasks that split the first few moves start again, so the positions they stored must no longer
+			// count as being searched
+			if (parallel)
+				minBoard.newSearch();
+		}
+		else
+		{
+			minBoard.newSearch();
+			bestLine.set(new int[] { 99 });
+			newMetrics(board, Long.bitCount(pegs), SolverMetrics.SEARCH);
+			stoppedSearches = new ConcurrentHashMap<Long, Search>();
+		}
+		// No need to look any further than two pegs for a position that can't reach one
+		int rootRule = Pruning.NONE;
+		if (Long.bitCount(pegs) > 1)
+			rootRule = pruning.prune(pegs);
+		goal = 1;
+		if (rootRule != Pruning.NONE)
+		{
+			goal = 2;
+			if (!resume)
+				metrics.addPruned(rootRule);
+		}
+		timedOut = false;
+		startTime = System.nanoTime();
+
+		// A position solved before is answered without searching
+		if (caching && !resume)
+		{
+			int[] line = cachedLine(pegs);
+			if (line != null)
+			{
+				bestLine.set(line);
+				metrics.setSource(SolverMetrics.CACHE);
+				metrics.lineFound(line[0], System.nanoTime() - startTime);
+				metrics.addTime(System.nanoTime() - startTime);
+				metrics.setResult(line[0], true);
+				return toSolution(bitBoard, line);
+			}
+		}
+
+		this.listener = listener;
+		// A search that carries on has already found this line
+		if (listener != null && bestLine.get()[0] < 99)
+			listener.improved(bestLine.get()[0]);
+
+		// Finds a solution
+		if (parallel)
+			pool.invoke(new SolveTask(pegs, new int[0]));
+		else
+			search(pegs, new int[0]);
+		this.listener = null;
+		metrics.addTime(System.nanoTime() - startTime);
+		// Stopped before finding the fewest pegs possible: keep the searches that were stopped to carry on with
+		if (timedOut && bestLine.get()[0] > goal)
+		{
+			paused = new PausedSearch();
+			paused.line = bestLine.get();
+			paused.metrics = metrics;
+			paused.searches = stoppedSearches;
+			pausedSearches.put(pegs, paused);
+		}
+		stoppedSearches = null;
+
+		int[] line = bestLine.get();
+		// If the search was stopped before finding one peg, the fewest pegs found may not be the minimum
+		if (line[0] == 99)
+		{
+			metrics.setResult(-1, false);
+			return new Solution(-1, new int[0][]);
+		}
+		boolean known = !timedOut || line[0] <= goal;
+		metrics.setResult(line[0], known);
+		if (known && caching)
+			cacheLine(pegs, line);
+		return toSolution(bitBoard, line, known);
+	}
+
+	/**
+	 * Finds the minimum number of pegs a position of a wide board can be reduced to, with a single-thread search
+	 * A stopped search isn't kept: asking again starts over, with only the transposition table from before
+	 * @param board the holes and jumps of the board
+	 * @param pegs the position as BitBoard.WORDS longs
+	 * @param time the maximum time to search (in seconds)
+	 * @param search the number returned by newSearch for this search
+	 * @param listener told about each better line found while searching (null: no one to tell)
+	 * @return the solution (if it took too long or was cancelled, the fewest pegs found but not known to be the minimum)
+	 */
+	private synchronized Solution solveWide(BitBoard board, long[] pegs, int time, int search, Listener listener)
+	{
+		setBoard(board);
+		waitTime = time;
+		searchId = search;
+
+		minBoard.newSearch();
+		bestLine.set(new int[] { 99 });
+		newMetrics(board, BitBoard.bitCount(pegs), SolverMetrics.SEARCH);
+		// No need to look any further than two pegs for a position that can't reach one
+		int rootRule = Pruning.NONE;
+		if (BitBoard.bitCount(pegs) > 1)
+			rootRule = pruning.prune(pegs);
+		goal = 1;
+		if (rootRule != Pruning.NONE)
+		{
+			goal = 2;
+			metrics.addPruned(rootRule);
+		}
+		timedOut = false;
+		startTime = System.nanoTime();
+
+		this.listener = listener;
+		new WideSearch().findSolution(pegs);
+		this.listener = null;
+		metrics.addTime(System.nanoTime() - startTime);
+
+		int[] line = bestLine.get();
+		if (line[0] == 99)
+		{
+			metrics.setResult(-1, false);
+			return new Solution(-1, new int[0][]);
+		}
+		boolean known = !timedOut || line[0] <= goal;
+		metrics.setResult(line[0], known);
+		return toSolution(bitBoard, line, known);
+	}
+
+	/**
+	 * Gets ready to search positions of a board, forgetting the positions solved on the board before unless it has the
+	 * same holes
+	 * @param board the holes and jumps of the board
+	 */
+	private void setBoard(BitBoard board)
+	{
+		if (bitBoard == null || !bitBoard.hasSameJumps(board))
+		{
+			// Positions of a wide board need a table that stores every long of them
+			int words = board.isWide() ? BitBoard.WORDS : 1;
+			if (minBoard.getWords() != words)
+				minBoard = new TranspositionTable(megabytes, words);
+			else
+				minBoard.clear();
+			pausedSearches.clear();
+			endgames = null;
+			cache = null;
+			if (!board.isWide())
+			{
+				for (int i = 0; i < endgameDatabases.length; i++)
+				{
+					if (endgameDatabases[i] != null && endgameDatabases[i].isFor(board))
+						endgames = endgameDatabases[i];
+				}
+				cache = SolveCache.forBoard(new File("Cache"), board);
+			}
+			pruning = new Pruning(board);
+		}
+		bitBoard = board;
+		centre = board.getCentre();
+	}
+
+	/**
+	 * Follows the best moves in the cache from a position down to the minimum number of pegs
+	 * @param pegs the bit representation of the position
+	 * @return the minimum number of pegs followed by the moves, or null if any position on the way isn't cached
+	 */
+	private int[] cachedLine(long pegs)
+	{
+		int[] moves = new int[bitBoard.holeCount()];
+		int count = 0, best = -1;
+		long[] mapped = new long[bitBoard.symmetries()];
+		while (best < 0 || Long.bitCount(pegs) > best)
+		{
+			for (int s = 0; s < mapped.length; s++)
+				mapped[s] = bitBoard.transform(s, pegs);
+			int symmetry = bitBoard.canonical(mapped);
+			int data = cache.get(mapped[symmetry]);
+			if (data < 0 || best >= 0 && (data & 255) != best)
+				return null;
+			best = data & 255;
+			if (Long.bitCount(pegs) <= best)
+				break;
+			// Map the stored move from the canonical board back onto this board
+			int from = bitBoard.inverseCell(symmetry, data >>> 11);
+			int direction = bitBoard.inverseDirection(symmetry, data >>> 8 & 7);
+			if ((bitBoard.movers(pegs, direction) >>> from & 1) == 0)
+				return null;
+			moves[count] = from << 3 | direction;
+			pegs = bitBoard.jump(pegs, from, direction);
+			count++;
+		}
+		int[] line = new int[count + 1];
+		line[0] = best;
+		System.arraycopy(moves, 0, line, 1, count);
+		return line;
+	}
+
+	/**
+	 * Adds every position along a solved line to the cache, with its move as it looks on the canonical board
+	 * @param pegs the bit representation of the position the line starts from
+	 * @param line the minimum number of pegs followed by the moves to reach them
+	 */
+	private void cacheLine(long pegs, int[] line)
+	{
+		long[] mapped = new long[bitBoard.symmetries()];
+		for (int i = 1; i < line.length; i++)
+		{
+			for (int s = 0; s < mapped.length; s++)
+				mapped[s] = bitBoard.transform(s, pegs);
+			int symmetry = bitBoard.canonical(mapped);
+			int from = line[i] >> 3, direction = line[i] & 7;
+			cache.put(mapped[symmetry], line[0], bitBoard.symmetryCell(symmetry, from) << 3
+					| bitBoard.symmetryDirection(symmetry, direction));
+			pegs = bitBoard.jump(pegs, from, direction);
+		}
+	}
+
+	/**
+	 * Converts a line to a Solution with the moves as board locations
+	 * @param board the holes and jumps of the board
+	 * @param line the fewest pegs followed by the moves to reach them (each move is from * 8 + direction)
+	 * @return the solution
+	 */
+	private Solution toSolution(BitBoard board, int[] line)
+	{
+		return toSolution(board, line, true);
+	}
+
+	/**
+	 * Converts a line to a Solution with the moves as board locations
+	 * @param board the holes and jumps of the board
+	 * @param line the fewest pegs followed by the moves to reach them (each move is from * 8 + direction)
+	 * @param known true if the line is known to reach the fewest pegs possible
+	 * @return the solution
+	 */
+	private Solution toSolution(BitBoard board, int[] line, boolean known)
+	{
+		int[][] moves = new int[line.length - 1][];
+		for (int i = 0; i < moves.length; i++)
+		{
+			int from = line[i + 1] >> 3;
+			int to = from + 2 * board.shift(line[i + 1] & 7);
+			moves[i] = new int[] { BitBoard.row(from), BitBoard.col(from), BitBoard.row(to), BitBoard.col(to) };
+		}
+		return new Solution(line[0], moves, known);
+	}
+
+	/**
+	 * Checks if the search has been running too long or a newer search has started
+	 */
+	private void checkTime()
+	{
+		if (latestSearch != searchId || (System.nanoTime() - startTime) / 1000000000.0 > waitTime)
+			timedOut = true;
+	}
+
+	/**
+	 * Checks if the search has to stop, because it's been running too long, a newer search has started or one peg (or
+	 * the fewest pegs the position can possibly reach) was found
+	 * @return true if the search should stop, false otherwise
+	 */
+	private boolean stopped()
+	{
+		return timedOut || bestLine.get()[0] <= goal;
+	}
+
+	/**
+	 * Searches a position depth-first, carrying on with the search of the same position that was stopped earlier in
+	 * this solve if there is one, and keeping the search if it is stopped again
+	 * @param pegs the bit representation of the position
+	 * @param prefix the moves that reached the position
+	 */
+	private void search(long pegs, int[] prefix)
+	{
+		Search search = stoppedSearches.remove(pegs);
+		boolean finished;
+		if (search != null && search.getRootMove() == prefix.length)
+			finished = search.resume(prefix);
+		else
+		{
+			search = new Search();
+			finished = search.findSolution(pegs, prefix);
+		}
+		if (!finished)
+			stoppedSearches.put(pegs, search);
+	}
+
+	/**
+	 * Makes a line the overall minimum if it has fewer pegs than the overall minimum
+	 * @param pegCount the number of pegs at the end of the line
+	 * @param path the moves of the line
+	 * @param moves the number of moves of the line
+	 */
+	private void publish(int pegCount, int[] path, int moves)
+	{
+		int[] line = null;
+		int[] current = bestLine.get();
+		while (pegCount < current[0])
+		{
+			if (line == null)
+			{
+				line = new int[moves + 1];
+				line[0] = pegCount;
+				System.arraycopy(path, 0, line, 1, moves);
+			}
+			if (bestLine.compareAndSet(current, line))
+			{
+				metrics.lineFound(pegCount, System.nanoTime() - startTime);
+				Listener listener = this.listener;
+				if (listener != null)
+					listener.improved(pegCount);
+				return;
+			}
+			current = bestLine.get();
+		}
+	}
+
+	// Inner class for what a search had done when it was stopped, to put back when it carries on
+	private class PausedSearch
+	{
+		// The fewest pegs found followed by their moves, and the metrics counted so far
+		private int[] line;
+		private SolverMetrics metrics;
+		// The depth-first searches that were stopped, by the position each started from
+		private ConcurrentHashMap<Long, Search> searches;
+	}
+
+	// Interface for being told about the progress of a search while it runs
+	public interface Listener
+	{
+		/**
+		 * Called on the searching thread whenever the search finds a line with fewer pegs than before
+		 * @param minPegs the fewest pegs found so far (the position can be reduced to this many or fewer)
+		 */
+		void improved(int minPegs);
+	}
+
+	// Inner class for one depth-first search, each thread searching at the same time needs its own
+	// The positions being searched are kept on arrays used as a stack instead of by recursion, so the search can stop
+	// at any position and carry on from the same place later
+	private class Search
+	{
+		private int cutoffs, prunes;
+		// Counted since the counts were last added to the metrics
+		private long nodes, tableHits, tableMisses;
+		private long[] pruned = new long[3];
+		private int rootMove, currentMove, result;
+		private boolean returning;
+		// One entry per move, a position of the board can't have more moves than holes
+		private int[] path = new int[bitBoard.holeCount()];
+		private long[][] moverStack = new long[path.length][bitBoard.directions()];
+		private long[] moversLeft = new long[path.length];
+		private int[] fromStack = new int[path.length];
+		private int[] directionStack = new int[path.length];
+		private int[] firstMove = new int[path.length];
+		private int[] skipMove = new int[path.length];
+		private int[] bestStack = new int[path.length];
+		private int[] bestFromStack = new int[path.length];
+		private int[] bestDirectionStack = new int[path.length];
+		private int[] cutoffStack = new int[path.length];
+		private int[] pruneStack = new int[path.length];
+		private int[] symmetryStack = new int[path.length];
+		private long[][] symPegs = new long[path.length + 1][bitBoard.symmetries()];
+		private long[][] symKeys = new long[path.length + 1][bitBoard.symmetries()];
+		private long[] depthNodes = new long[path.length + 1];
+
+		/**
+		 * Searches every move from a given position
+		 * @param pegs the bit representation of the position
+		 * @param prefix the moves that reached the position
+		 * @return true if the search finished, false if it was stopped before finishing
+		 */
+		public boolean findSolution(long pegs, int[] prefix)
+		{
+			System.arraycopy(prefix, 0, path, 0, prefix.length);
+			for (int s = 0; s < bitBoard.symmetries(); s++)
+			{
+				symPegs[prefix.length][s] = bitBoard.transform(s, pegs);
+				symKeys[prefix.length][s] = bitBoard.key(symPegs[prefix.length][s]);
+			}
+			rootMove = prefix.length;
+			currentMove = rootMove;
+			returning = false;
+			return resume();
+		}
+
+		/**
+		 * Gets the move number of the position the search started from
+		 * @return the number of moves that reached the position
+		 */
+		public int getRootMove()
+		{
+			return rootMove;
+		}
+
+		/**
+		 * Carries on searching from where the search stopped, reached by a different line of moves this time
+		 * @param prefix the moves that reached the position the search started from (getRootMove of them)
+		 * @return true if the search finished, false if it was stopped (again) before finishing
+		 */
+		public boolean resume(int[] prefix)
+		{
+			System.arraycopy(prefix, 0, path, 0, rootMove);
+			return resume();
+		}
+
+		/**
+		 * Carries on searching from where the search stopped
+		 * @return true if the search finished, false if it was stopped (again) before finishing
+		 */
+		public boolean resume()
+		{
+			int move = currentMove;
+			boolean returning = this.returning;
+			int result = this.result;
+			while (true)
+			{
+				boolean searchMoves;
+				if (!returning)
+				{
+					// A new position: look at the clock every so often
+					depthNodes[move]++;
+					if ((++nodes & CHECK_NODES) == 0)
+						checkTime();
+					if (stopped())
+					{
+						// If one peg hasn't been found, stop at this position without giving up on any others
+						if (bestLine.get()[0] > goal)
+						{
+							currentMove = move;
+							this.returning = false;
+							addCounts();
+							return false;
+						}
+						cutoffs++;
+						result = Long.bitCount(symPegs[move][0]);
+						searchMoves = false;
+					}
+					else
+					{
+						result = enter(move);
+						searchMoves = result < 0;
+					}
+				}
+				else
+				{
+					// Back from the position after the move made at this move number
+					if (result < bestStack[move])
+					{
+						bestStack[move] = result;
+						bestFromStack[move] = path[move] >> 3;
+						bestDirectionStack[move] = path[move] & 7;
+					}
+					searchMoves = true;
+				}
+
+				if (searchMoves)
+				{
+					int next = nextMove(move);
+					if (next >= 0)
+					{
+						makeMove(move, next >> 3, next & 7);
+						move++;
+						returning = false;
+						continue;
+					}
+					result = finish(move);
+				}
+
+				// Give the result to the position before
+				if (move == rootMove)
+				{
+					currentMove = move;
+					this.returning = false;
+					addCounts();
+					return true;
+				}
+				move--;
+				returning = true;
+			}
+		}
+
+		/**
+		 * Adds what was counted since the search started or carried on to the metrics of every thread, and starts
+		 * counting again from nothing
+		 */
+		private void addCounts()
+		{
+			metrics.add(nodes, tableHits, tableMisses, pruned, depthNodes);
+			nodes = 0;
+			tableHits = 0;
+			tableMisses = 0;
+			Arrays.fill(pruned, 0);
+			Arrays.fill(depthNodes, 0);
+		}
+
+		/**
+		 * Starts searching a position, unless its result is already known
+		 * @param move the current move number of the "solution", symPegs[move] and symKeys[move] hold the current position
+		 * @return the minimum number of pegs found from this position, or -1 if its moves have to be searched
+		 */
+		private int enter(int move)
+		{
+			long pegs = symPegs[move][0];
+			int pegCount = Long.bitCount(pegs);
+			// With only a few pegs left, look the position up instead of searching it (positions the endgame
+			// database can't reduce to one peg are still searched, to find how few pegs they can get to)
+			if (isEndgameSolvable(pegs))
+			{
+				int[] line = new int[path.length];
+				System.arraycopy(path, 0, line, 0, move);
+				publish(1, line, followEndgame(line, move, pegs));
+				return 1;
+			}
+			// Once two pegs have been found only one peg is worth looking for, so skip positions that can't reach it
+			if (goal == 1 && bestLine.get()[0] == 2)
+			{
+				int rule = pruning.prune(pegs);
+				if (rule != Pruning.NONE)
+				{
+					prunes++;
+					pruned[rule]++;
+					return pegCount;
+				}
+			}
+			// If the current position of the board (or a rotation or reflection of it) has been reached before
+			int symmetry = bitBoard.canonical(symPegs[move]);
+			long canonicalPegs = symPegs[move][symmetry];
+			long canonicalKey = symKeys[move][symmetry];
+			long stored = minBoard.probe(canonicalKey, canonicalPegs);
+			if (stored != 0)
+				tableHits++;
+			else
+				tableMisses++;
+			// The best move found the last time this position was searched, if that search was cut short, is tried first
+			// (as long as it can still be made, another thread may have stored a different position in its slot)
+			firstMove[move] = -1;
+			if (stored != 0 && minBoard.getBestFrom(stored) >= 0)
+			{
+				int from = bitBoard.inverseCell(symmetry, minBoard.getBestFrom(stored));
+				int direction = bitBoard.inverseDirection(symmetry, minBoard.getBestDirection(stored));
+				if ((bitBoard.movers(pegs, direction) >>> from & 1) != 0)
+					firstMove[move] = from << 3 | direction;
+			}
+			if (stored != 0)
+			{
+				if (minBoard.isExact(stored))
+				{
+					// Reuse the result, following its moves if it beats the overall minimum (only possible
+					// for positions solved by an earlier search)
+					int best = minBoard.getBest(stored);
+					if (best >= bestLine.get()[0] || followBestLine(move, best))
+						return best;
+				}
+				else if (goal == 1 && bestLine.get()[0] == 2 && minBoard.isNoOnePeg(stored))
+				{
+					// Known not to reach one peg, which is all that is left to look for
+					prunes++;
+					return pegCount;
+				}
+				else if (minBoard.isCurrent(stored))
+				{
+					// Visited by this search, but its result isn't final
+					cutoffs++;
+					return pegCount;
+				}
+			}
+
+			// Add the canonical bit representation of this board to the set of boards visited
+			minBoard.store(canonicalKey, canonicalPegs, pegCount, pegCount, -1, 0, false, false);
+			symmetryStack[move] = symmetry;
+			cutoffStack[move] = cutoffs;
+			pruneStack[move] = prunes;
+			bestStack[move] = pegCount;
+			bestFromStack[move] = -1;
+			bestDirectionStack[move] = 0;
+
+			// If there are only two pegs remaining on a board with a middle spot, make it so that the last peg is in it
+			if (pegCount == 2 && centre >= 0 && (pegs >>> centre & 1) == 0)
+			{
+				firstMove[move] = -1;
+				for (int d = 0; d < bitBoard.directions() && firstMove[move] < 0; d++)
+				{
+					int from = centre - 2 * bitBoard.shift(d);
+					if (from >= 0 && (bitBoard.movers(pegs, d) >>> from & 1) != 0)
+						firstMove[move] = from << 3 | d;
+				}
+			}
+			skipMove[move] = firstMove[move];
+
+			// Find every peg that can jump in each direction
+			long[] movers = moverStack[move];
+			long allMovers = 0;
+			for (int d = 0; d < bitBoard.directions(); d++)
+			{
+				movers[d] = bitBoard.movers(pegs, d);
+				allMovers |= movers[d];
+			}
+			moversLeft[move] = allMovers;
+			fromStack[move] = -1;
+			return -1;
+		}
+
+		/**
+		 * Finds the next move to search from a position, going through the pegs that can jump in order
+		 * @param move the current move number
+		 * @return the move (from * 8 + direction), or -1 if every move has been searched
+		 */
+		private int nextMove(int move)
+		{
+			if (firstMove[move] >= 0)
+			{
+				int next = firstMove[move];
+				firstMove[move] = -1;
+				return next;
+			}
+			long[] movers = moverStack[move];
+			int from = fromStack[move];
+			while (true)
+			{
+				if (from >= 0)
+				{
+					for (int d = directionStack[move]; d < bitBoard.directions(); d++)
+					{
+						// The move tried first isn't searched again
+						if ((movers[d] >>> from & 1) != 0 && (from << 3 | d) != skipMove[move])
+						{
+							directionStack[move] = d + 1;
+							return from << 3 | d;
+						}
+					}
+				}
+				if (moversLeft[move] == 0)
+					return -1;
+				from = Long.numberOfTrailingZeros(moversLeft[move]);
+				moversLeft[move] &= moversLeft[move] - 1;
+				fromStack[move] = from;
+				directionStack[move] = 0;
+			}
+		}
+
+		/**
+		 * Makes a jump on every symmetric copy of the current position
+		 * @param move the current move number
+		 * @param from the bit number of the jumping peg
+		 * @param direction the jump direction
+		 */
+		private void makeMove(int move, int from, int direction)
+		{
+			path[move] = from << 3 | direction;
+			long[] pegs = symPegs[move], nextPegs = symPegs[move + 1];
+			long[] keys = symKeys[move], nextKeys = symKeys[move + 1];
+			for (int s = 0; s < bitBoard.symmetries(); s++)
+			{
+				int symFrom = bitBoard.symmetryCell(s, from);
+				int symDirection = bitBoard.symmetryDirection(s, direction);
+				nextPegs[s] = pegs[s] ^ bitBoard.jumpMask(symFrom, symDirection);
+				nextKeys[s] = keys[s] ^ bitBoard.jumpKey(symFrom, symDirection);
+			}
+		}
+
+		/**
+		 * Finishes searching a position once all of its moves have been searched
+		 * @param move the current move number
+		 * @return the minimum number of pegs found from this position
+		 */
+		private int finish(int move)
+		{
+			// Checks the number of pegs on the board and if it's less than the overall minimum, set the overall minimum
+			// to the current
+			int pegCount = Long.bitCount(symPegs[move][0]);
+			publish(pegCount, path, move);
+
+			// The result is final if nothing below this position was cut short (the fewest pegs possible can't be beaten)
+			// Positions skipped by pruning can't reach one peg, so they don't matter if two pegs were reached anyway
+			// The best move is stored the way it looks on the canonical board
+			int symmetry = symmetryStack[move];
+			int best = bestStack[move], bestFrom = bestFromStack[move], bestDirection = bestDirectionStack[move];
+			if (bestFrom >= 0)
+			{
+				bestFrom = bitBoard.symmetryCell(symmetry, bestFrom);
+				bestDirection = bitBoard.symmetryDirection(symmetry, bestDirection);
+			}
+			minBoard.store(symKeys[move][symmetry], symPegs[move][symmetry], pegCount, best, bestFrom, bestDirection,
+					cutoffs == cutoffStack[move] && (prunes == pruneStack[move] || best <= 2) || best <= goal,
+					(cutoffs == cutoffStack[move] || goal == 2) && best > 1);
+			return best;
+		}
+
+		/**
+		 * Follows the best moves stored in minBoard from a given position to make it the new overall minimum
+		 * @param move the move number of the position, symPegs[move] holds the position
+		 * @param best the minimum number of pegs stored for the position
+		 * @return true if the stored moves reach best, false if any of them are no longer stored
+		 */
+		private boolean followBestLine(int move, int best)
+		{
+			long pegs = symPegs[move][0];
+			int[] line = new int[path.length];
+			System.arraycopy(path, 0, line, 0, move);
+			long[] mapped = new long[bitBoard.symmetries()];
+			while (Long.bitCount(pegs) > best)
+			{
+				// The moves of positions solved by the endgame database aren't stored
+				if (isEndgameSolvable(pegs))
+				{
+					move = followEndgame(line, move, pegs);
+					break;
+				}
+				for (int s = 0; s < mapped.length; s++)
+					mapped[s] = bitBoard.transform(s, pegs);
+				int symmetry = bitBoard.canonical(mapped);
+				long stored = minBoard.probe(bitBoard.key(mapped[symmetry]), mapped[symmetry]);
+				if (stored == 0 || !minBoard.isExact(stored) || minBoard.getBest(stored) != best
+						|| minBoard.getBestFrom(stored) < 0)
+					return false;
+				// Map the stored move from the canonical board back onto this board
+				int from = bitBoard.inverseCell(symmetry, minBoard.getBestFrom(stored));
+				int direction = bitBoard.inverseDirection(symmetry, minBoard.getBestDirection(stored));
+				if ((bitBoard.movers(pegs, direction) >>> from & 1) == 0)
+					return false;
+				line[move] = from << 3 | direction;
+				pegs = bitBoard.jump(pegs, from, direction);
+				move++;
+			}
+			publish(best, line, move);
+			return true;
+		}
+
+		/**
+		 * Checks if the endgame database has a position and can reduce it to one peg
+		 * @param pegs the bit representation of the position
+		 * @return true if the database says one peg can be reached, false otherwise
+		 */
+		private boolean isEndgameSolvable(long pegs)
+		{
+			return endgames != null && Long.bitCount(pegs) <= endgames.getMaxPegs() && endgames.isSolvable(pegs);
+		}
+
+		/**
+		 * Follows the endgame database from a given position down to one peg
+		 * @param line filled with the moves, after the moves already in it
+		 * @param move the move number of the position
+		 * @param pegs the bit representation of the position, which the database can solve
+		 * @return the number of moves in the line
+		 */
+		private int followEndgame(int[] line, int move, long pegs)
+		{
+			while (Long.bitCount(pegs) > 1)
+			{
+				// Take the first jump that leaves a position the database can still solve, finishing in the middle spot
+				// when there are two pegs left and that's possible
+				int next = -1;
+				for (int d = 0; d < bitBoard.directions() && next < 0; d++)
+				{
+					long movers = bitBoard.movers(pegs, d);
+					while (movers != 0 && next < 0)
+					{
+						int from = Long.numberOfTrailingZeros(movers);
+						movers &= movers - 1;
+						long after = bitBoard.jump(pegs, from, d);
+						if (centre >= 0 && (after >>> centre & 1) != 0 && Long.bitCount(after) == 1)
+							next = from << 3 | d;
+					}
+				}
+				for (int d = 0; d < bitBoard.directions() && next < 0; d++)
+				{
+					long movers = bitBoard.movers(pegs, d);
+					while (movers != 0 && next < 0)
+					{
+						int from = Long.numberOfTrailingZeros(movers);
+						movers &= movers - 1;
+						if (endgames.isSolvable(bitBoard.jump(pegs, from, d)))
+							next = from << 3 | d;
+					}
+				}
+				line[move] = next;
+				pegs = bitBoard.jump(pegs, next >> 3, next & 7);
+				move++;
+			}
+			return move;
+		}
+	}
+
+	// Inner class for a depth-first search of a wide board, searched by recursion on one thread (it starts over if it is
+	// stopped), with each position kept as several longs under every symmetry like Search
+	private class WideSearch
+	{
+		private long nodes, tableHits, tableMisses;
+		private long[] pruned = new long[3];
+		private int cutoffs, prunes;
+		private int[] path = new int[bitBoard.holeCount()];
+		private long[][][] symPegs = new long[path.length + 1][bitBoard.symmetries()][BitBoard.WORDS];
+		private long[][] symKeys = new long[path.length + 1][bitBoard.symmetries()];
+		private long[][][] moverStack = new long[path.length][bitBoard.directions()][BitBoard.WORDS];
+		private long[] depthNodes = new long[path.length + 1];
+
+		/**
+		 * Searches every move from a given position, adding what it counted to the metrics
+		 * @param pegs the position as BitBoard.WORDS longs
+		 */
+		public void findSolution(long[] pegs)
+		{
+			for (int s = 0; s < bitBoard.symmetries(); s++)
+			{
+				bitBoard.transform(s, pegs, symPegs[0][s]);
+				symKeys[0][s] = bitBoard.key(symPegs[0][s]);
+			}
+			search(0);
+			metrics.add(nodes, tableHits, tableMisses, pruned, depthNodes);
+		}
+
+		/**
+		 * Searches a position, unless its result is already known
+		 * @param move the current move number of the "solution", symPegs[move] and symKeys[move] hold the current position
+		 * @return the minimum number of pegs found from this position
+		 */
+		private int search(int move)
+		{
+			long[] pegs = symPegs[move][0];
+			int pegCount = BitBoard.bitCount(pegs);
+			depthNodes[move]++;
+			if ((++nodes & CHECK_NODES) == 0)
+				checkTime();
+			if (stopped())
+			{
+				cutoffs++;
+				return pegCount;
+			}
+			// Once two pegs have been found only one peg is worth looking for, so skip positions that can't reach it
+			if (goal == 1 && bestLine.get()[0] == 2)
+			{
+				int rule = pruning.prune(pegs);
+				if (rule != Pruning.NONE)
+				{
+					prunes++;
+					pruned[rule]++;
+					return pegCount;
+				}
+			}
+
+			// If the current position of the board (or a rotation or reflection of it) has been reached before
+			int symmetry = bitBoard.canonical(symPegs[move]);
+			long[] canonicalPegs = symPegs[move][symmetry];
+			long canonicalKey = symKeys[move][symmetry];
+			long stored = minBoard.probe(canonicalKey, canonicalPegs);
+			int first = -1;
+			if (stored == 0)
+				tableMisses++;
+			else
+			{
+				tableHits++;
+				if (minBoard.isExact(stored))
+				{
+					// A result of an earlier search that beats the overall minimum is searched again to find its moves
+					if (minBoard.getBest(stored) >= bestLine.get()[0])
+						return minBoard.getBest(stored);
+				}
+				else if (goal == 1 && bestLine.get()[0] == 2 && minBoard.isNoOnePeg(stored))
+				{
+					prunes++;
+					return pegCount;
+				}
+				else if (minBoard.isCurrent(stored))
+				{
+					cutoffs++;
+					return pegCount;
+				}
+				// The best move found the last time this position was searched is tried first
+				if (minBoard.getBestFrom(stored) >= 0)
+					first = bitBoard.inverseCell(symmetry, minBoard.getBestFrom(stored)) << 3
+							| bitBoard.inverseDirection(symmetry, minBoard.getBestDirection(stored));
+			}
+			minBoard.store(canonicalKey, canonicalPegs, pegCount, pegCount, -1, 0, false, false);
+			int startCutoffs = cutoffs, startPrunes = prunes;
+
+			// Find every peg that can jump in each direction
+			long[][] movers = moverStack[move];
+			for (int d = 0; d < bitBoard.directions(); d++)
+				bitBoard.movers(pegs, d, movers[d]);
+			// The stored move is only tried if it can still be made
+			if (first >= 0 && !BitBoard.isSet(movers[first & 7], first >> 3))
+				first = -1;
+
+			// If there are only two pegs remaining on a board with a middle spot, make it so that the last peg is in it
+			if (pegCount == 2 && centre >= 0 && !BitBoard.isSet(pegs, centre))
+			{
+				first = -1;
+				for (int d = 0; d < bitBoard.directions() && first < 0; d++)
+				{
+					int from = centre - 2 * bitBoard.shift(d);
+					if (from >= 0 && from < BitBoard.SIZE * BitBoard.SIZE && BitBoard.isSet(movers[d], from))
+						first = from << 3 | d;
+				}
+			}
+
+			int best = pegCount, bestMove = -1;
+			if (first >= 0)
+			{
+				best = makeMove(move, first >> 3, first & 7);
+				bestMove = first;
+			}
+			for (int word = 0; word < BitBoard.WORDS; word++)
+			{
+				long allMovers = 0;
+				for (int d = 0; d < bitBoard.directions(); d++)
+					allMovers |= movers[d][word];
+				for (; allMovers != 0; allMovers &= allMovers - 1)
+				{
+					int from = word * 64 + Long.numberOfTrailingZeros(allMovers);
+					for (int d = 0; d < bitBoard.directions(); d++)
+					{
+						// The move tried first isn't searched again
+						if (BitBoard.isSet(movers[d], from) && (from << 3 | d) != first)
+						{
+							int result = makeMove(move, from, d);
+							if (result < best)
+							{
+								best = result;
+								bestMove = from << 3 | d;
+							}
+						}
+					}
+				}
+			}
+
+			// The result is final under the same rules as Search.finish, and the best move is stored the way it looks
+			// on the canonical board
+			publish(pegCount, path, move);
+			int bestFrom = -1, bestDirection = 0;
+			if (bestMove >= 0)
+			{
+				bestFrom = bitBoard.symmetryCell(symmetry, bestMove >> 3);
+				bestDirection = bitBoard.symmetryDirection(symmetry, bestMove & 7);
+			}
+			minBoard.store(canonicalKey, canonicalPegs, pegCount, best, bestFrom, bestDirection,
+					cutoffs == startCutoffs && (prunes == startPrunes || best <= 2) || best <= goal,
+					(cutoffs == startCutoffs || goal == 2) && best > 1);
+			return best;
+		}
+
+		/**
+		 * Makes a jump on every symmetric copy of the current position and searches the position after it
+		 * @param move the current move number
+		 * @param from the bit number of the jumping peg
+		 * @param direction the jump direction
+		 * @return the minimum number of pegs found after the jump
+		 */
+		private int makeMove(int move, int from, int direction)
+		{
+			path[move] = from << 3 | direction;
+			for (int s = 0; s < bitBoard.symmetries(); s++)
+			{
+				int symFrom = bitBoard.symmetryCell(s, from);
+				int symDirection = bitBoard.symmetryDirection(s, direction);
+				bitBoard.jump(symPegs[move][s], symFrom, symDirection, symPegs[move + 1][s]);
+				symKeys[move + 1][s] = symKeys[move][s] ^ bitBoard.jumpKey(symFrom, symDirection);
+			}
+			return search(move + 1);
+		}
+	}
+
+	// Inner class for searching the first few moves in parallel
+	@SuppressWarnings("serial")
+	private class SolveTask extends RecursiveAction
+	{
+		private long pegs;
+		private int[] path;
+		// Counted for the task's own position (the positions below it are counted by their own tasks or searches)
+		private long nodes, tableHits, tableMisses;
+
+		/**
+		 * Constructs a new SolveTask for a given position
+		 * @param pegs the bit representation of the position
+		 * @param path the moves that reached the position
+		 */
+		public SolveTask(long pegs, int[] path)
+		{
+			this.pegs = pegs;
+			this.path = path;
+		}
+
+		/**
+		 * Searches the position, splitting each move into a new task for the first few moves
+		 */
+		protected void compute()
+		{
+			if (path.length >= SPLIT_DEPTH)
+			{
+				search(pegs, path);
+				return;
+			}
+			checkTime();
+			if (stopped())
+			{
+				nodes++;
+				addCounts();
+				return;
+			}
+
+			// Only split positions (and their rotations and reflections) that no other task has split
+			long[] mapped = new long[bitBoard.symmetries()];
+			for (int s = 0; s < mapped.length; s++)
+				mapped[s] = bitBoard.transform(s, pegs);
+			int symmetry = bitBoard.canonical(mapped);
+			long key = bitBoard.key(mapped[symmetry]);
+			long stored = minBoard.probe(key, mapped[symmetry]);
+			if (stored != 0)
+				tableHits++;
+			else
+				tableMisses++;
+			if (stored != 0 && minBoard.isExact(stored))
+			{
+				// Already solved, let a single search reuse the result (the search counts the position)
+				addCounts();
+				search(pegs, path);
+				return;
+			}
+			nodes++;
+			addCounts();
+			if (stored != 0 && minBoard.isCurrent(stored))
+				return;
+			int pegCount = Long.bitCount(pegs);
+			minBoard.store(key, mapped[symmetry], pegCount, pegCount, -1, 0, false, false);
+
+			// Make a task for every move, in the same order as the depth-first search
+			ArrayList<SolveTask> tasks = new ArrayList<SolveTask>();
+			long[] movers = new long[bitBoard.directions()];
+			long allMovers = 0;
+			for (int d = 0; d < movers.length; d++)
+			{
+				movers[d] = bitBoard.movers(pegs, d);
+				allMovers |= movers[d];
+			}
+			while (allMovers != 0)
+			{
+				int from = Long.numberOfTrailingZeros(allMovers);
+				allMovers &= allMovers - 1;
+				for (int d = 0; d < movers.length; d++)
+				{
+					if ((movers[d] >>> from & 1) != 0)
+					{
+						int[] next = new int[path.length + 1];
+						System.arraycopy(path, 0, next, 0, path.length);
+						next[path.length] = from << 3 | d;
+						tasks.add(new SolveTask(bitBoard.jump(pegs, from, d), next));
+					}
+				}
+			}
+			// Fork the moves in reverse so this thread takes them back in the usual order, while idle threads
+			// steal the last moves first
+			for (int i = tasks.size() - 1; i > 0; i--)
+				tasks.get(i).fork();
+			if (!tasks.isEmpty())
+				tasks.get(0).invoke();
+			for (int i = 1; i < tasks.size(); i++)
+				tasks.get(i).join();
+			publish(pegCount, path, path.length);
+		}
+
+		/**
+		 * Adds what was counted for the task's position to the metrics
+		 */
+		private void addCounts()
+		{
+			long[] depthNodes = new long[path.length + 1];
+			depthNodes[path.length] = nodes;
+			metrics.add(nodes, tableHits, tableMisses, new long[3], depthNodes);
+		}
+	}
+}
@@ -0,0 +1,328 @@
+/**
+ * The "SolverMetrics" class
+ * Counts what one search of the solver did: the positions searched at each depth, how often the transposition table
+ * already had a position, the positions each pruning rule skipped and how long it took to find its first and best
+ * lines. Each searching thread counts on its own and adds its counts here when it stops, so counting costs almost
+ * nothing and is always on. A search that carries on after being stopped keeps adding to the same metrics
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.util.Locale;
+
+public class SolverMetrics
+{
+	// Where the result came from
+	public static final String SEARCH = "search";
+	public static final String CACHE = "cache";
+	public static final String TABLE = "table";
+
+	private String board, source;
+	private int startPegs, minPegs;
+	// The number of times the search ran (more than one if it was stopped and carried on)
+	private int runs;
+	private boolean known;
+	private long nodes, tableHits, tableMisses;
+	private long[] pruned = new long[3];
+	// The number of positions searched after each number of moves from the position being solved
+	private long[] depthNodes;
+	// Time spent searching (over every time the search carried on) and when the first and best lines were found
+	// (in nanoseconds from the start of the search, -1: none found)
+	private long searchNanos, firstLineNanos, bestLineNanos;
+
+	/**
+	 * Constructs a new SolverMetrics with nothing counted
+	 * @param board the name of the board searched
+	 * @param startPegs the number of pegs in the position searched
+	 * @param maxMoves the most moves a line from the position can have
+	 * @param source where the result comes from (SEARCH, CACHE or TABLE)
+	 */
+	public SolverMetrics(String board, int startPegs, int maxMoves, String source)
+	{
+		this.board = board;
+		this.startPegs = startPegs;
+		this.source = source;
+		depthNodes = new long[maxMoves + 1];
+		minPegs = -1;
+		firstLineNanos = -1;
+		bestLineNanos = -1;
+	}
+
+	/**
+	 * Records where the result comes from, when it turns out not to need the search started for it
+	 * @param source where the result comes from (SEARCH, CACHE or TABLE)
+	 */
+	public synchronized void setSource(String source)
+	{
+		this.source = source;
+	}
+
+	/**
+	 * Adds the counts of one searching thread
+	 * @param nodes the number of positions searched
+	 * @param tableHits the number of positions found in the transposition table
+	 * @param tableMisses the number of positions looked up but not found in the transposition table
+	 * @param pruned the number of positions skipped by each pruning rule
+	 * @param depthNodes the number of positions searched after each number of moves
+	 */
+	public synchronized void add(long nodes, long tableHits, long tableMisses, long[] pruned, long[] depthNodes)
+	{
+		this.nodes += nodes;
+		this.tableHits += tableHits;
+		this.tableMisses += tableMisses;
+		for (int rule = 0; rule < pruned.length; rule++)
+			this.pruned[rule] += pruned[rule];
+		for (int depth = 0; depth < depthNodes.length && depth < this.depthNodes.length; depth++)
+			this.depthNodes[depth] += depthNodes[depth];
+	}
+
+	/**
+	 * Counts a position skipped by a pruning rule outside of any searching thread
+	 * @param rule the rule (Pruning.POSITION_CLASS or Pruning.PAGODA)
+	 */
+	public synchronized void addPruned(int rule)
+	{
+		pruned[rule]++;
+	}
+
+	/**
+	 * Adds the time taken by one run of the search
+	 * @param nanos the time searched (in nanoseconds)
+	 */
+	public synchronized void addTime(long nanos)
+	{
+		searchNanos += nanos;
+		runs++;
+	}
+
+	/**
+	 * Gets the number of times the search ran
+	 * @return the number of runs (more than one if the search was stopped and carried on later)
+	 */
+	public synchronized int getRuns()
+	{
+		return runs;
+	}
+
+	/**
+	 * Records a line with fewer pegs than any found before
+	 * @param pegCount the number of pegs at the end of the line
+	 * @param runNanos the time since this run of the search started (in nanoseconds), added to the earlier runs
+	 */
+	public synchronized void lineFound(int pegCount, long runNanos)
+	{
+		long nanos = searchNanos + runNanos;
+		if (firstLineNanos < 0)
+			firstLineNanos = nanos;
+		bestLineNanos = nanos;
+		minPegs = pegCount;
+	}
+
+	/**
+	 * Records the result of the search
+	 * @param minPegs the fewest pegs found (-1: nothing found)
+	 * @param known true if the result is known to be the minimum
+	 */
+	public synchronized void setResult(int minPegs, boolean known)
+	{
+		this.minPegs = minPegs;
+		this.known = known;
+	}
+
+	/**
+	 * Gets the time spent searching so far
+	 * @return the time (in nanoseconds)
+	 */
+	public synchronized long getSearchNanos()
+	{
+		return searchNanos;
+	}
+
+	/**
+	 * Gets the number of positions searched
+	 * @return the number of positions
+	 */
+	public synchronized long getNodes()
+	{
+		return nodes;
+	}
+
+	/**
+	 * Gets the number of positions a pruning rule skipped
+	 * @param rule the rule (Pruning.POSITION_CLASS or Pruning.PAGODA)
+	 * @return the number of positions
+	 */
+	public synchronized long getPruned(int rule)
+	{
+		return pruned[rule];
+	}
+
+	/**
+	 * Gets the number of positions found in the transposition table
+	 * @return the number of positions
+	 */
+	public synchronized long getTableHits()
+	{
+		return tableHits;
+	}
+
+	/**
+	 * Gets the number of positions looked up but not found in the transposition table
+	 * @return the number of positions
+	 */
+	public synchronized long getTableMisses()
+	{
+		return tableMisses;
+	}
+
+	/**
+	 * Gets the most moves from the position solved to a position that was searched
+	 * @return the number of moves
+	 */
+	public synchronized int getMaxDepth()
+	{
+		int depth = depthNodes.length - 1;
+		while (depth > 0 && depthNodes[depth] == 0)
+			depth--;
+		return depth;
+	}
+
+	/**
+	 * Gets the number of positions searched after each number of moves
+	 * @return the number of positions, by number of moves from the position solved
+	 */
+	public synchronized long[] getDepthNodes()
+	{
+		return depthNodes.clone();
+	}
+
+	/**
+	 * Gets the number of positions searched per second
+	 * @return the number of positions per second (0: no time was spent searching)
+	 */
+	public synchronized double getNodesPerSecond()
+	{
+		if (searchNanos == 0)
+			return 0;
+		return nodes * 1e9 / searchNanos;
+	}
+
+	/**
+	 * Gets the time taken to find the first line
+	 * @return the time (in nanoseconds, -1: none found)
+	 */
+	public synchronized long getFirstLineNanos()
+	{
+		return firstLineNanos;
+	}
+
+	/**
+	 * Gets the time taken to find the line with the fewest pegs
+	 * @return the time (in nanoseconds, -1: none found)
+	 */
+	public synchronized long getBestLineNanos()
+	{
+		return bestLineNanos;
+	}
+
+	/**
+	 * Writes the metrics as a JSON object
+	 * @return the JSON text
+	 */
+	public synchronized String toJson()
+	{
+		StringBuilder json = new StringBuilder();
+		json.append("{\n");
+		json.append("  \"board\": ").append(quote(board)).append(",\n");
+		json.append("  \"startPegs\": ").append(startPegs).append(",\n");
+		json.append("  \"source\": ").append(quote(source)).append(",\n");
+		json.append("  \"minPegs\": ").append(minPegs).append(",\n");
+		json.append("  \"known\": ").append(known).append(",\n");
+		json.append("  \"nodes\": ").append(nodes).append(",\n");
+		json.append("  \"nodesPerSecond\": ").append(number(getNodesPerSecond())).append(",\n");
+		json.append("  \"tableHits\": ").append(tableHits).append(",\n");
+		json.append("  \"tableMisses\": ").append(tableMisses).append(",\n");
+		json.append("  \"prunedByPositionClass\": ").append(pruned[Pruning.POSITION_CLASS]).append(",\n");
+		json.append("  \"prunedByPagoda\": ").append(pruned[Pruning.PAGODA]).append(",\n");
+		json.append("  \"maxDepth\": ").append(getMaxDepth()).append(",\n");
+		json.append("  \"depthNodes\": [");
+		for (int depth = 0; depth <= getMaxDepth(); depth++)
+			json.append(depth == 0 ? "" : ", ").append(depthNodes[depth]);
+		json.append("],\n");
+		json.append("  \"runs\": ").append(runs).append(",\n");
+		json.append("  \"searchMillis\": ").append(millis(searchNanos)).append(",\n");
+		json.append("  \"firstLineMillis\": ").append(millis(firstLineNanos)).append(",\n");
+		json.append("  \"bestLineMillis\": ").append(millis(bestLineNanos)).append("\n");
+		json.append("}\n");
+		return json.toString();
+	}
+
+	/**
+	 * Writes the metrics as lines of text to show to the player
+	 * @return the text
+	 */
+	public synchronized String toString()
+	{
+		StringBuilder text = new StringBuilder();
+		text.append(String.format("Board: %s, %d pegs%n", board, startPegs));
+		if (minPegs < 0)
+			text.append(String.format("Result: nothing found%n"));
+		else
+			text.append(String.format("Result: %d peg%s (%s, from the %s)%n", minPegs, minPegs == 1 ? "" : "s",
+					known ? "the minimum" : "may not be the minimum", source));
+		text.append(String.format("Positions searched: %,d (%,.0f per second)%n", nodes, getNodesPerSecond()));
+		long lookUps = tableHits + tableMisses;
+		text.append(String.format("Table hits: %,d of %,d look ups (%.1f%%)%n", tableHits, lookUps,
+				lookUps == 0 ? 0.0 : 100.0 * tableHits / lookUps));
+		text.append(String.format("Pruned: %,d by position class, %,d by pagoda functions%n",
+				pruned[Pruning.POSITION_CLASS], pruned[Pruning.PAGODA]));
+		text.append(String.format("Deepest position: %d moves%n", getMaxDepth()));
+		text.append(String.format("Time searching: %s ms in %d run%s%n", millis(searchNanos), runs, runs == 1 ? "" : "s"));
+		text.append(String.format("First line found after: %s ms%n", firstLineNanos < 0 ? "-" : millis(firstLineNanos)));
+		text.append(String.format("Best line found after: %s ms%n", bestLineNanos < 0 ? "-" : millis(bestLineNanos)));
+		return text.toString();
+	}
+
+	/**
+	 * Writes a time in milliseconds for JSON
+	 * @param nanos the time (in nanoseconds, -1: none)
+	 * @return the number of milliseconds, or null if there is no time
+	 */
+	private static String millis(long nanos)
+	{
+		if (nanos < 0)
+			return "null";
+		return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+	}
+
+	/**
+	 * Writes a number for JSON
+	 * @param value the number
+	 * @return the number with one decimal place
+	 */
+	private static String number(double value)
+	{
+		return String.format(Locale.ROOT, "%.1f", value);
+	}
+
+	/**
+	 * Writes a string for JSON, in quotes with any quotes, backslashes and control characters escaped
+	 * @param value the string
+	 * @return the quoted string
+	 */
+	private static String quote(String value)
+	{
+		StringBuilder quoted = new StringBuilder("\"");
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\')
+				quoted.append('\\').append(c);
+			else if (c < ' ')
+				quoted.append(String.format("\\u%04x", (int) c));
+			else
+				quoted.append(c);
+		}
+		return quoted.append('"').toString();
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * The "Sprites" class
+ * Loads every image of the game once, converted to the screen's pixel format, and shares it with everything that draws
+ * it. Images are found on the classpath (in the jar) under Images/, or in the Images folder of the working folder
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.net.URL;
+import java.util.HashMap;
+import javax.imageio.ImageIO;
+
+public class Sprites
+{
+	// The names of the images (the pictures of the boards are named in the boards file)
+	public static final String PIECE = "Piece.gif";
+	public static final String HIGHLIGHT = "Highlight.gif";
+	public static final String ICON = "PegSolitaireIcon.gif";
+	private static final String[] ALL = { PIECE, HIGHLIGHT, ICON };
+
+	private static HashMap<String, Image> images = new HashMap<String, Image>();
+
+	/**
+	 * Loads every image, including the picture of every board, so none is loaded while the game is being played
+	 */
+	public static void preload()
+	{
+		for (String name : ALL)
+			get(name);
+		for (int boardType = 0; boardType < BoardDefinition.count(); boardType++)
+			get(BoardDefinition.get(boardType).getImage());
+	}
+
+	/**
+	 * Gets an image, loading it the first time
+	 * @param name the file name of the image
+	 * @return the image (an empty image if it couldn't be found or read)
+	 */
+	public static synchronized Image get(String name)
+	{
+		Image image = images.get(name);
+		if (image == null)
+		{
+			image = load(name);
+			images.put(name, image);
+		}
+		return image;
+	}
+
+	/**
+	 * Reads an image and converts it to the screen's pixel format
+	 * @param name the file name of the image
+	 * @return the image (an empty image if it couldn't be found or read)
+	 */
+	private static Image load(String name)
+	{
+		try
+		{
+			URL url = Sprites.class.getResource("/Images/" + name);
+			if (url == null)
+			{
+				File file = new File("Images", name);
+				if (file.isFile())
+					url = file.toURI().toURL();
+			}
+			if (url != null)
+			{
+				BufferedImage read = ImageIO.read(url);
+				if (read != null)
+				{
+					BufferedImage image = createCompatibleImage(read.getWidth(), read.getHeight(),
+							Transparency.TRANSLUCENT);
+					Graphics g = image.createGraphics();
+					g.drawImage(read, 0, 0, null);
+					g.dispose();
+					return image;
+				}
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+		System.err.println("Image not found: " + name);
+		return createCompatibleImage(1, 1, Transparency.TRANSLUCENT);
+	}
+
+	/**
+	 * Makes an empty image in the screen's pixel format, so drawing it doesn't need converting
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @param transparency Transparency.OPAQUE, BITMASK or TRANSLUCENT
+	 * @return the image
+	 */
+	public static BufferedImage createCompatibleImage(int width, int height, int transparency)
+	{
+		if (GraphicsEnvironment.isHeadless())
+			return new BufferedImage(width, height, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB
+					: BufferedImage.TYPE_INT_ARGB);
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, transparency);
+	}
+}
@@ -0,0 +1,343 @@
+/**
+ * The "TranspositionTable" class
+ * Remembers the positions visited by the solver in a fixed amount of memory
+ * Safe to share between threads without locking: a position is stored exclusive or'ed with its information, so a slot
+ * half written by another thread never matches. A look up gives back the information it matched, read once, so
+ * everything known about a position comes from the same write even if another thread replaces the slot straight after
+ * A table for wide boards stores every long of a position, the longs after the first kept apart (these tables are only
+ * used by one thread at a time)
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+import java.util.Arrays;
+
+public class TranspositionTable
+{
+	// Layout of the packed information stored with each position
+	private static final int BEST_BITS = 0; // minimum pegs reachable from the position (7 bits)
+	private static final int PEGS_BITS = 7; // pegs in the position (7 bits)
+	private static final int FROM_BITS = 14; // bit number of the jumping peg of the best move (7 bits, 127: none)
+	private static final int DIRECTION_BITS = 21; // direction of the best move (3 bits)
+	private static final int EXACT_BITS = 24; // 1 if the whole subtree below the position was searched
+	private static final int NO_ONE_BITS = 25; // 1 if the position is known not to reach one peg
+	private static final int SEARCH_BITS = 32; // number of the search that stored the position
+	private static final int NO_MOVE = 127;
+
+	private long[] positions;
+	private long[] info;
+	// The longs after the first of each position, words - 1 per slot (null: positions are a single long)
+	private long[] otherWords;
+	private int words, mask, search;
+
+	/**
+	 * Constructs a new TranspositionTable for positions of one long using about the given amount of memory
+	 * @param megabytes the memory budget of the table (in megabytes)
+	 * @throws IllegalArgumentException if the memory budget isn't positive
+	 */
+	public TranspositionTable(int megabytes)
+	{
+		this(megabytes, 1);
+	}
+
+	/**
+	 * Constructs a new TranspositionTable using about the given amount of memory
+	 * @param megabytes the memory budget of the table (in megabytes)
+	 * @param words the number of longs in each position (1, or BitBoard.WORDS for wide boards)
+	 * @throws IllegalArgumentException if the memory budget isn't positive
+	 */
+	public TranspositionTable(int megabytes, int words)
+	{
+		if (megabytes <= 0)
+			throw new IllegalArgumentException("Memory budget of " + megabytes + " megabytes");
+		// Each entry takes one long for its information and one for each long of its position, round down to a power
+		// of two entries (no more than the largest power of two an array can hold)
+		long budget = ((long) megabytes << 20) / (8 * (words + 1));
+		int entries = Integer.highestOneBit((int) Math.max(2, Math.min(budget, 1 << 30)));
+		positions = new long[entries];
+		info = new long[entries];
+		if (words > 1)
+			otherWords = new long[entries * (words - 1)];
+		this.words = words;
+		mask = entries - 1;
+		search = 1;
+	}
+
+	/**
+	 * Gets the number of longs in each position
+	 * @return the number of longs
+	 */
+	public int getWords()
+	{
+		return words;
+	}
+
+	/**
+	 * Starts a new search, positions stored by earlier searches are kept but are no longer counted as visited
+	 */
+	public void newSearch()
+	{
+		search++;
+	}
+
+	/**
+	 * Removes every position from the table
+	 */
+	public void clear()
+	{
+		Arrays.fill(positions, 0);
+		Arrays.fill(info, 0);
+		if (otherWords != null)
+			Arrays.fill(otherWords, 0);
+		search = 1;
+	}
+
+	/**
+	 * Finds the first of the two slots a position can be stored in
+	 * @param key the hash key of the position
+	 * @return the index of the first slot
+	 */
+	private int bucket(long key)
+	{
+		return (int) (key ^ (key >>> 32)) & mask & ~1;
+	}
+
+	/**
+	 * Looks up a position
+	 * @param key the hash key of the position
+	 * @param pegs the position to look up
+	 * @return the information stored with the position, to read with isExact, getBest, etc. (0: it isn't stored)
+	 */
+	public long probe(long key, long pegs)
+	{
+		int slot = bucket(key);
+		for (int i = 0; i < 2; i++, slot++)
+		{
+			long data = info[slot];
+			if (data != 0 && (positions[slot] ^ data) == pegs)
+				return data;
+		}
+		return 0;
+	}
+
+	/**
+	 * Looks up a position of more than one long
+	 * @param key the hash key of the position
+	 * @param pegs the position to look up (getWords longs)
+	 * @return the information stored with the position, to read with isExact, getBest, etc. (0: it isn't stored)
+	 */
+	public long probe(long key, long[] pegs)
+	{
+		int slot = find(key, pegs);
+		if (slot < 0)
+			return 0;
+		return info[slot];
+	}
+
+	/**
+	 * Finds the slot a position is stored in
+	 * @param key the hash key of the position
+	 * @param pegs the position
+	 * @return the slot of the position, or -1 if it isn't stored
+	 */
+	private int find(long key, long pegs)
+	{
+		int slot = bucket(key);
+		if ((positions[slot] ^ info[slot]) == pegs)
+			return slot;
+		if ((positions[slot + 1] ^ info[slot + 1]) == pegs)
+			return slot + 1;
+		return -1;
+	}
+
+	/**
+	 * Finds the slot a position of more than one long is stored in
+	 * @param key the hash key of the position
+	 * @param pegs the position (getWords longs)
+	 * @return the slot of the position, or -1 if it isn't stored
+	 */
+	private int find(long key, long[] pegs)
+	{
+		int slot = bucket(key);
+		if (matches(slot, pegs))
+			return slot;
+		if (matches(slot + 1, pegs))
+			return slot + 1;
+		return -1;
+	}
+
+	/**
+	 * Checks if a slot holds a position of more than one long
+	 * @param slot the slot
+	 * @param pegs the position
+	 * @return true if every long of the position is the same, false otherwise
+	 */
+	private boolean matches(int slot, long[] pegs)
+	{
+		if ((positions[slot] ^ info[slot]) != pegs[0])
+			return false;
+		for (int word = 1; word < words; word++)
+		{
+			if (otherWords[slot * (words - 1) + word - 1] != pegs[word])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Stores a position, replacing the least useful position in its bucket if both slots are taken
+	 * @param key the hash key of the position
+	 * @param pegs the position
+	 * @param pegCount the number of pegs in the position
+	 * @param best the minimum number of pegs reachable from the position
+	 * @param bestFrom the bit number of the peg to jump to reach best (-1: none)
+	 * @param bestDirection the direction of the jump to reach best
+	 * @param exact true if every move below the position was searched
+	 * @param noOnePeg true if the position is known not to reach one peg (even if best isn't exact)
+	 */
+	public void store(long key, long pegs, int pegCount, int best, int bestFrom, int bestDirection, boolean exact,
+			boolean noOnePeg)
+	{
+		put(find(key, pegs), key, pegs, pegCount, best, bestFrom, bestDirection, exact, noOnePeg);
+	}
+
+	/**
+	 * Stores a position of more than one long, replacing the least useful position in its bucket if both slots are taken
+	 * @param key the hash key of the position
+	 * @param pegs the position (getWords longs)
+	 * @param pegCount the number of pegs in the position
+	 * @param best the minimum number of pegs reachable from the position
+	 * @param bestFrom the bit number of the peg to jump to reach best (-1: none)
+	 * @param bestDirection the direction of the jump to reach best
+	 * @param exact true if every move below the position was searched
+	 * @param noOnePeg true if the position is known not to reach one peg (even if best isn't exact)
+	 */
+	public void store(long key, long[] pegs, int pegCount, int best, int bestFrom, int bestDirection, boolean exact,
+			boolean noOnePeg)
+	{
+		int slot = put(find(key, pegs), key, pegs[0], pegCount, best, bestFrom, bestDirection, exact, noOnePeg);
+		System.arraycopy(pegs, 1, otherWords, slot * (words - 1), words - 1);
+	}
+
+	/**
+	 * Writes a position's first long and information into its slot
+	 * @param slot the slot the position is already in (-1: not stored yet)
+	 * @param key the hash key of the position
+	 * @param pegs the first long of the position
+	 * @param pegCount the number of pegs in the position
+	 * @param best the minimum number of pegs reachable from the position
+	 * @param bestFrom the bit number of the peg to jump to reach best (-1: none)
+	 * @param bestDirection the direction of the jump to reach best
+	 * @param exact true if every move below the position was searched
+	 * @param noOnePeg true if the position is known not to reach one peg (even if best isn't exact)
+	 * @return the slot written
+	 */
+	private int put(int slot, long key, long pegs, int pegCount, int best, int bestFrom, int bestDirection,
+			boolean exact, boolean noOnePeg)
+	{
+		if (slot < 0)
+		{
+			// Keep positions from this search over older ones, then keep positions with more pegs
+			// since they took longer to search
+			slot = bucket(key);
+			if (replaceScore(slot + 1) < replaceScore(slot))
+				slot++;
+		}
+		if (bestFrom < 0)
+			bestFrom = NO_MOVE;
+		long data = (long) best << BEST_BITS | (long) pegCount << PEGS_BITS | (long) bestFrom << FROM_BITS
+				| (long) bestDirection << DIRECTION_BITS | (exact ? 1L : 0L) << EXACT_BITS | (noOnePeg ? 1L : 0L) << NO_ONE_BITS
+				| (long) search << SEARCH_BITS;
+		positions[slot] = pegs ^ data;
+		info[slot] = data;
+		return slot;
+	}
+
+	/**
+	 * Finds how much a slot is worth keeping
+	 * @param slot the slot
+	 * @return a lower number for slots that should be replaced first
+	 */
+	private int replaceScore(int slot)
+	{
+		long data = info[slot];
+		if (data == 0)
+			return -1;
+		if (!isCurrent(data))
+			return getPegs(data);
+		return 128 + getPegs(data);
+	}
+
+	/**
+	 * Checks if a position was stored by the current search
+	 * @param data the information returned by probe
+	 * @return true if the position was visited by the current search, false otherwise
+	 */
+	public boolean isCurrent(long data)
+	{
+		return (int) (data >>> SEARCH_BITS) == search;
+	}
+
+	/**
+	 * Checks if the best result of a position is final
+	 * @param data the information returned by probe
+	 * @return true if every move below the position was searched, false otherwise
+	 */
+	public boolean isExact(long data)
+	{
+		return (data >>> EXACT_BITS & 1) != 0;
+	}
+
+	/**
+	 * Checks if a position is known not to reach one peg
+	 * @param data the information returned by probe
+	 * @return true if one peg can't be reached, false if it can or it isn't known
+	 */
+	public boolean isNoOnePeg(long data)
+	{
+		return (data >>> NO_ONE_BITS & 1) != 0;
+	}
+
+	/**
+	 * Gets the minimum number of pegs reachable from a position
+	 * @param data the information returned by probe
+	 * @return the minimum number of pegs
+	 */
+	public int getBest(long data)
+	{
+		return (int) (data >>> BEST_BITS & 127);
+	}
+
+	/**
+	 * Gets the number of pegs of a position
+	 * @param data the information returned by probe
+	 * @return the number of pegs
+	 */
+	public int getPegs(long data)
+	{
+		return (int) (data >>> PEGS_BITS & 127);
+	}
+
+	/**
+	 * Gets the jumping peg of the best move from a position
+	 * @param data the information returned by probe
+	 * @return the bit number of the peg (-1: no move stored)
+	 */
+	public int getBestFrom(long data)
+	{
+		int from = (int) (data >>> FROM_BITS & 127);
+		if (from == NO_MOVE)
+			return -1;
+		return from;
+	}
+
+	/**
+	 * Gets the direction of the best move from a position
+	 * @param data the information returned by probe
+	 * @return the direction of the jump
+	 */
+	public int getBestDirection(long data)
+	{
+		return (int) (data >>> DIRECTION_BITS & 7);
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * The "TriangleTable" class
+ * Stores the minimum number of pegs and the best move for every position of a small board such as the Triangle, which
+ * only has 15 holes
+ * @author Alvin Qiu and Bryan Qiu
+ * @version January 2012
+ */
+
+public class TriangleTable
+{
+	// The most holes a board can have to be solved with a table (three bytes per position)
+	public static final int MAX_HOLES = 22;
+
+	private BitBoard bitBoard;
+	// Indexed by the pegs of a position with hole number i at bit i
+	private byte[] best;
+	private short[] bestMove;
+
+	/**
+	 * Constructs a new TriangleTable by solving every position of a board
+	 * @param board the holes and jumps of the board (small enough for one entry per position)
+	 */
+	public TriangleTable(BitBoard board)
+	{
+		bitBoard = board;
+		int holeCount = board.holeCount();
+
+		// A jump always leaves one peg fewer, so solve the positions in order of their number of pegs
+		best = new byte[1 << holeCount];
+		bestMove = new short[1 << holeCount];
+		for (int pegCount = 0; pegCount <= holeCount; pegCount++)
+		{
+			for (int index = 0; index < best.length; index++)
+			{
+				if (Integer.bitCount(index) == pegCount)
+					solve(index);
+			}
+		}
+	}
+
+	/**
+	 * Finds the minimum number of pegs and the best move of a position, once every position with fewer pegs is solved
+	 * @param index the index of the position
+	 */
+	private void solve(int index)
+	{
+		long pegs = bitBoard.fromHoleBits(index);
+		int min = Integer.bitCount(index), move = -1;
+		long[] movers = new long[bitBoard.directions()];
+		long allMovers = 0;
+		for (int d = 0; d < movers.length; d++)
+		{
+			movers[d] = bitBoard.movers(pegs, d);
+			allMovers |= movers[d];
+		}
+		// Try the moves in the same order as the search, keeping the first move that reaches the fewest pegs
+		while (allMovers != 0)
+		{
+			int from = Long.numberOfTrailingZeros(allMovers);
+			allMovers &= allMovers - 1;
+			for (int d = 0; d < movers.length; d++)
+			{
+				if ((movers[d] >>> from & 1) != 0)
+				{
+					int result = best[index(bitBoard.jump(pegs, from, d))];
+					if (result < min)
+					{
+						min = result;
+						move = from << 3 | d;
+					}
+				}
+			}
+		}
+		best[index] = (byte) min;
+		bestMove[index] = (short) move;
+	}
+
+	/**
+	 * Gets the index of a position in the table
+	 * @param pegs the bit representation of the position
+	 * @return the index of the position
+	 */
+	private int index(long pegs)
+	{
+		return (int) bitBoard.toHoleBits(pegs);
+	}
+
+	/**
+	 * Checks if the table is for a board
+	 * @param board the holes and jumps of the board
+	 * @return true if the board has the same holes and jumps as the table's board, false otherwise
+	 */
+	public boolean isFor(BitBoard board)
+	{
+		return bitBoard.hasSameJumps(board);
+	}
+
+	/**
+	 * Gets the minimum number of pegs a position can be reduced to
+	 * @param pegs the bit representation of the position
+	 * @return the minimum number of pegs
+	 */
+	public int getBest(long pegs)
+	{
+		return best[index(pegs)];
+	}
+
+	/**
+	 * Gets the moves from a position to the minimum number of pegs
+	 * @param pegs the bit representation of the position
+	 * @return the minimum number of pegs followed by the moves to reach them (each move is from * 8 + direction)
+	 */
+	public int[] solution(long pegs)
+	{
+		int index = index(pegs);
+		int[] line = new int[Integer.bitCount(index) - best[index] + 1];
+		line[0] = best[index];
+		for (int i = 1; i < line.length; i++)
+		{
+			line[i] = bestMove[index];
+			pegs = bitBoard.jump(pegs, line[i] >> 3, line[i] & 7);
+			index = index(pegs);
+		}
+		return line;
+	}
+}